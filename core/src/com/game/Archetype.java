@@ -0,0 +1,150 @@
+package com.game;
+
+import com.game.core.IEntity;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+
+/**
+ * Chunk of all the {@link IEntity} instances that share the same component bit signature. The entities and each of
+ * their components are stored in parallel arrays: the component at row i of a column belongs to the entity at row i
+ * of {@link #getEntities()}. Columns are indexed by {@link ComponentType#getIndex(Class)} and are arrays of the exact
+ * component class, so systems can walk them without any map lookups or casts per entity.
+ * <p>
+ * Only the first {@link #getSize()} rows are occupied. Archetypes are managed by {@link ArchetypeStore}.
+ */
+public class Archetype {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int index;
+    private final long componentBits;
+    private final int[] componentIndices;
+    private final Component[][] columns = new Component[ComponentType.MAX_COMPONENT_TYPES][];
+
+    private IEntity[] entities = new IEntity[INITIAL_CAPACITY];
+    private int size;
+
+    Archetype(int index, long componentBits) {
+        this.index = index;
+        this.componentBits = componentBits;
+        componentIndices = new int[Long.bitCount(componentBits)];
+        int j = 0;
+        for (int i = 0; i < ComponentType.MAX_COMPONENT_TYPES; i++) {
+            if ((componentBits & (1L << i)) != 0L) {
+                componentIndices[j++] = i;
+                columns[i] = newColumn(i, INITIAL_CAPACITY);
+            }
+        }
+    }
+
+    /**
+     * Returns the index of this archetype in its {@link ArchetypeStore}.
+     *
+     * @return the index
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the component bit signature shared by every entity of this archetype.
+     *
+     * @return the component bits
+     */
+    public long getComponentBits() {
+        return componentBits;
+    }
+
+    /**
+     * Returns the number of occupied rows.
+     *
+     * @return the size
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the entity array. Only the first {@link #getSize()} elements are occupied.
+     *
+     * @return the entities
+     */
+    public IEntity[] getEntities() {
+        return entities;
+    }
+
+    /**
+     * Returns the column of the component index. The returned array is of the exact component class registered with
+     * the index in {@link ComponentType}. Only the first {@link #getSize()} elements are occupied. Returns null if
+     * the component is not part of this archetype.
+     *
+     * @param componentIndex the component index
+     * @param <C>            the component type
+     * @return the column
+     */
+    @SuppressWarnings("unchecked")
+    public <C extends Component> C[] getColumn(int componentIndex) {
+        return (C[]) columns[componentIndex];
+    }
+
+    int add(IEntity entity) {
+        if (size == entities.length) {
+            grow();
+        }
+        set(size, entity);
+        return size++;
+    }
+
+    void set(int row, IEntity entity) {
+        entities[row] = entity;
+        for (int componentIndex : componentIndices) {
+            columns[componentIndex][row] = entity.getComponents().get(
+                    ComponentType.getComponentClass(componentIndex));
+        }
+    }
+
+    /**
+     * Removes the row by moving the last row into its place.
+     *
+     * @param row the row
+     * @return the entity moved into the row, or null if the removed row was the last row
+     */
+    IEntity remove(int row) {
+        int last = --size;
+        IEntity moved = null;
+        if (row != last) {
+            entities[row] = entities[last];
+            for (int componentIndex : componentIndices) {
+                columns[componentIndex][row] = columns[componentIndex][last];
+            }
+            moved = entities[row];
+        }
+        entities[last] = null;
+        for (int componentIndex : componentIndices) {
+            columns[componentIndex][last] = null;
+        }
+        return moved;
+    }
+
+    void clear() {
+        Arrays.fill(entities, 0, size, null);
+        for (int componentIndex : componentIndices) {
+            Arrays.fill(columns[componentIndex], 0, size, null);
+        }
+        size = 0;
+    }
+
+    private void grow() {
+        int capacity = entities.length * 2;
+        entities = Arrays.copyOf(entities, capacity);
+        for (int componentIndex : componentIndices) {
+            columns[componentIndex] = Arrays.copyOf(columns[componentIndex], capacity);
+        }
+    }
+
+    private static Component[] newColumn(int componentIndex, int capacity) {
+        return (Component[]) Array.newInstance(ComponentType.getComponentClass(componentIndex), capacity);
+    }
+
+}
@@ -0,0 +1,136 @@
+package com.game;
+
+import com.badlogic.gdx.utils.LongMap;
+import com.game.core.IEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Groups {@link IEntity} instances into {@link Archetype} chunks by their component bit signature. The store is
+ * updated by {@link EntitiesAndSystemsManager} whenever an entity is added, changes its components, or dies, and is
+ * read by {@link ArchetypeSystem} instances. Archetypes are never discarded, so {@link #getArchetypeCount()} only grows
+ * and can be used to tell if a cached list of matching archetypes is stale.
+ * <p>
+ * The archetype and row of each entity are kept on the entity itself, see {@link IEntity#getArchetypeLocation()}, so
+ * moving an entity between archetypes does no map lookups and allocates nothing.
+ */
+public class ArchetypeStore {
+
+    public static final long NO_LOCATION = -1L;
+
+    private final List<Archetype> archetypes = new ArrayList<>();
+    private final LongMap<Archetype> archetypesByBits = new LongMap<>();
+
+    /**
+     * Places the {@link IEntity} in the archetype matching its current component bits, moving it out of its prior
+     * archetype if its component bits have changed.
+     *
+     * @param entity the entity
+     */
+    public void update(IEntity entity) {
+        long componentBits = entity.getComponentBits();
+        Archetype current = getArchetype(entity);
+        if (current != null && current.getComponentBits() == componentBits) {
+            // component instances may have been replaced without changing the bits
+            current.set(row(entity.getArchetypeLocation()), entity);
+            return;
+        }
+        if (current != null) {
+            removeFrom(current, entity);
+        }
+        Archetype archetype = archetypesByBits.get(componentBits);
+        if (archetype == null) {
+            archetype = new Archetype(archetypes.size(), componentBits);
+            archetypesByBits.put(componentBits, archetype);
+            archetypes.add(archetype);
+        }
+        entity.setArchetypeLocation(location(archetype, archetype.add(entity)));
+    }
+
+    /**
+     * Removes the {@link IEntity} from its archetype.
+     *
+     * @param entity the entity
+     */
+    public void remove(IEntity entity) {
+        Archetype archetype = getArchetype(entity);
+        if (archetype != null) {
+            removeFrom(archetype, entity);
+        }
+    }
+
+    /**
+     * Returns the archetype the {@link IEntity} is currently placed in, or null if it is not in this store.
+     *
+     * @param entity the entity
+     * @return the archetype
+     */
+    public Archetype getArchetype(IEntity entity) {
+        long location = entity.getArchetypeLocation();
+        if (location == NO_LOCATION) {
+            return null;
+        }
+        int index = (int) (location >>> 32);
+        if (index >= archetypes.size()) {
+            return null;
+        }
+        Archetype archetype = archetypes.get(index);
+        int row = row(location);
+        return row < archetype.getSize() && archetype.getEntities()[row] == entity ? archetype : null;
+    }
+
+    /**
+     * Adds every archetype whose component bits contain all the supplied component bits to the list.
+     *
+     * @param componentBits the component bits
+     * @param out           the list to add the matching archetypes to
+     */
+    public void getArchetypes(long componentBits, List<Archetype> out) {
+        for (Archetype archetype : archetypes) {
+            if ((archetype.getComponentBits() & componentBits) == componentBits) {
+                out.add(archetype);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of archetypes created so far.
+     *
+     * @return the archetype count
+     */
+    public int getArchetypeCount() {
+        return archetypes.size();
+    }
+
+    /**
+     * Removes all entities from every archetype.
+     */
+    public void clear() {
+        for (Archetype archetype : archetypes) {
+            IEntity[] entities = archetype.getEntities();
+            for (int i = 0; i < archetype.getSize(); i++) {
+                entities[i].setArchetypeLocation(NO_LOCATION);
+            }
+            archetype.clear();
+        }
+    }
+
+    private void removeFrom(Archetype archetype, IEntity entity) {
+        int row = row(entity.getArchetypeLocation());
+        entity.setArchetypeLocation(NO_LOCATION);
+        IEntity moved = archetype.remove(row);
+        if (moved != null) {
+            moved.setArchetypeLocation(location(archetype, row));
+        }
+    }
+
+    private static long location(Archetype archetype, int row) {
+        return ((long) archetype.getIndex() << 32) | (row & 0xFFFFFFFFL);
+    }
+
+    private static int row(long location) {
+        return (int) location;
+    }
+
+}
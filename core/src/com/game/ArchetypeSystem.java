@@ -0,0 +1,113 @@
+package com.game;
+
+import com.game.core.IEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static com.game.utils.UtilMethods.objName;
+
+/**
+ * {@link System} that walks the {@link Archetype} chunks matching its component mask instead of its member set.
+ * Implementations read components directly from the archetype columns by their {@link ComponentType} index, so no
+ * map lookup is done per entity. If no {@link ArchetypeStore} has been provided, i.e. the system was not added through
+ * {@link EntitiesAndSystemsManager}, then {@link #processEntity(IEntity, float)} is used as a fallback.
+ * <p>
+ * Once a store is provided, the members of this System are the entities of the matching archetypes: membership is
+ * answered from the store and no separate member array is kept. Membership therefore depends on the component mask
+ * alone, which is why {@link #qualifiesMembership(IEntity)} cannot be overridden.
+ */
+public abstract class ArchetypeSystem extends System {
+
+    private final List<Archetype> archetypes = new ArrayList<>();
+    private ArchetypeStore archetypeStore;
+    private int archetypeCount;
+
+    public ArchetypeSystem(Set<Class<? extends Component>> componentMask) {
+        super(componentMask);
+    }
+
+    /**
+     * Process the occupied rows of the {@link Archetype}. Implementations should skip entities that are dead.
+     *
+     * @param archetype the archetype
+     * @param delta     the delta time
+     */
+    protected abstract void processArchetype(Archetype archetype, float delta);
+
+    void setArchetypeStore(ArchetypeStore archetypeStore) {
+        // members added before the store was provided are members of the matching archetypes from now on
+        purgeAllEntities();
+        this.archetypeStore = archetypeStore;
+        archetypes.clear();
+        archetypeCount = 0;
+    }
+
+    @Override
+    public final boolean qualifiesMembership(IEntity entity) {
+        return super.qualifiesMembership(entity);
+    }
+
+    @Override
+    public void addEntity(IEntity entity) {
+        if (archetypeStore == null) {
+            super.addEntity(entity);
+        } else if (!qualifiesMembership(entity)) {
+            throw new IllegalStateException("Cannot add " + objName(entity) + " as member of " + this);
+        }
+    }
+
+    @Override
+    public void removeEntity(IEntity entity) {
+        if (archetypeStore == null) {
+            super.removeEntity(entity);
+        }
+    }
+
+    @Override
+    public boolean entityIsMember(IEntity entity) {
+        if (archetypeStore == null) {
+            return super.entityIsMember(entity);
+        }
+        Archetype archetype = archetypeStore.getArchetype(entity);
+        return archetype != null && (archetype.getComponentBits() & getComponentBits()) == getComponentBits();
+    }
+
+    @Override
+    public int getMemberCount() {
+        if (archetypeStore == null) {
+            return super.getMemberCount();
+        }
+        refreshArchetypes();
+        int memberCount = 0;
+        for (int i = 0; i < archetypes.size(); i++) {
+            memberCount += archetypes.get(i).getSize();
+        }
+        return memberCount;
+    }
+
+    @Override
+    protected void processEntities(float delta) {
+        if (archetypeStore == null) {
+            super.processEntities(delta);
+            return;
+        }
+        refreshArchetypes();
+        for (int i = 0; i < archetypes.size(); i++) {
+            Archetype archetype = archetypes.get(i);
+            if (archetype.getSize() > 0) {
+                processArchetype(archetype, delta);
+            }
+        }
+    }
+
+    private void refreshArchetypes() {
+        if (archetypeCount != archetypeStore.getArchetypeCount()) {
+            archetypes.clear();
+            archetypeStore.getArchetypes(getComponentBits(), archetypes);
+            archetypeCount = archetypeStore.getArchetypeCount();
+        }
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.game;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry that assigns each {@link Component} class a dense int index the first time the class is seen. The index
+ * is the position of the component's bit in the bit signature of {@link com.game.core.IEntity#getComponentBits()}
+ * and in the component mask bits of {@link System}, so that checking if an entity has all the components required by
+ * a system is a single AND of two longs. Because bit signatures are stored in a single long, no more than
+ * {@link #MAX_COMPONENT_TYPES} component classes can be registered.
+ */
+public class ComponentType {
+
+    public static final int MAX_COMPONENT_TYPES = Long.SIZE;
+
+    private static final Map<Class<? extends Component>, Integer> indices = new HashMap<>();
+    private static final List<Class<? extends Component>> componentClasses = new ArrayList<>();
+
+    /**
+     * Returns the index of the {@link Component} class, registering the class if it has not been seen before.
+     *
+     * @param componentClass the component class
+     * @return the index of the component class
+     * @throws IllegalStateException if more than {@link #MAX_COMPONENT_TYPES} component classes are registered
+     */
+    public static synchronized int getIndex(Class<? extends Component> componentClass) {
+        Integer index = indices.get(componentClass);
+        if (index == null) {
+            if (indices.size() >= MAX_COMPONENT_TYPES) {
+                throw new IllegalStateException("Cannot register more than " + MAX_COMPONENT_TYPES +
+                        " component types, failed to register " + componentClass.getSimpleName());
+            }
+            index = indices.size();
+            indices.put(componentClass, index);
+            componentClasses.add(componentClass);
+        }
+        return index;
+    }
+
+    /**
+     * Returns the {@link Component} class registered with the index. See {@link #getIndex(Class)}.
+     *
+     * @param index the index
+     * @return the component class
+     */
+    public static synchronized Class<? extends Component> getComponentClass(int index) {
+        return componentClasses.get(index);
+    }
+
+    /**
+     * Returns the bit of the {@link Component} class. See {@link #getIndex(Class)}.
+     *
+     * @param componentClass the component class
+     * @return the bit of the component class
+     */
+    public static long getBit(Class<? extends Component> componentClass) {
+        return 1L << getIndex(componentClass);
+    }
+
+    /**
+     * Returns the bits of all the supplied {@link Component} classes OR'd together.
+     *
+     * @param componentClasses the component classes
+     * @return the bits of the component classes
+     */
+    public static long getBits(Collection<Class<? extends Component>> componentClasses) {
+        long bits = 0L;
+        for (Class<? extends Component> componentClass : componentClasses) {
+            bits |= getBit(componentClass);
+        }
+        return bits;
+    }
+
+}
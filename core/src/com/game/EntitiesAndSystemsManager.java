@@ -0,0 +1,248 @@
+package com.game;
+
+import com.game.core.IEntitiesAndSystemsManager;
+import com.game.core.IEntity;
+import com.game.utils.interfaces.Resettable;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+/**
+ * Implementation of {@link IEntitiesAndSystemsManager}. Membership of entities in {@link System} instances is
+ * maintained incrementally: an {@link IEntity} is only checked against the systems when it is added, when one of its
+ * components is added or removed, or when it is marked dead. Because of this, a frame in which no entity changes does
+ * no membership work at all. The same changes keep the {@link ArchetypeStore} read by {@link ArchetypeSystem}
+ * instances up to date.
+ * <p>
+ * Systems are updated by a {@link SystemScheduler}, so systems that declare their component access may be updated
+ * concurrently. {@link #addEntity(IEntity)} and {@link #onEntityChanged(IEntity)} may therefore be called from worker
+ * threads. Added entities are only recorded there; the entity set itself is only changed on the main thread by the
+ * membership update, under the same lock.
+ * <p>
+ * Each added entity is assigned a handle from {@link EntityHandles}, which is released when the entity dies. Dead
+ * entities of classes with a factory in the {@link EntityPool} are then returned to the pool.
+ * <p>
+ * Changes recorded in the {@link EntityCommandBuffer} during a frame are applied in one batch at the start of the next
+ * call to {@link #updateSystems(float)}, right before membership is updated. {@link EntityQuery} views are updated on
+ * the same membership updates.
+ */
+public class EntitiesAndSystemsManager implements IEntitiesAndSystemsManager, EntityListener {
+
+    private final Map<Class<? extends System>, System> systems = new LinkedHashMap<>();
+    private final Set<IEntity> entities = new LinkedHashSet<>();
+    private final Set<IEntity> addedEntities = new HashSet<>();
+    private final Set<IEntity> changedEntities = new LinkedHashSet<>();
+    private final ArchetypeStore archetypeStore = new ArchetypeStore();
+    private final EntityHandles entityHandles = new EntityHandles();
+    private final EntityPool entityPool = new EntityPool();
+    private final EntityCommandBuffer entityCommandBuffer = new EntityCommandBuffer();
+    private final Map<QueryKey, EntityQuery<?>> queries = new LinkedHashMap<>();
+    private final SystemProfiler systemProfiler = new SystemProfiler();
+    private final SystemScheduler systemScheduler;
+
+    public EntitiesAndSystemsManager() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public EntitiesAndSystemsManager(ForkJoinPool forkJoinPool) {
+        systemScheduler = new SystemScheduler(forkJoinPool);
+    }
+
+    @Override
+    public void addSystem(System system) {
+        systems.put(system.getClass(), system);
+        system.setProfiler(systemProfiler);
+        systemScheduler.build(systems.values());
+        if (system instanceof ArchetypeSystem archetypeSystem) {
+            archetypeSystem.setArchetypeStore(archetypeStore);
+        }
+        entities.forEach(entity -> {
+            if (!entity.isDead() && system.qualifiesMembership(entity)) {
+                system.addEntity(entity);
+            }
+        });
+    }
+
+    @Override
+    public <S extends System> S getSystem(Class<S> sClass) {
+        return sClass.cast(systems.get(sClass));
+    }
+
+    @Override
+    public Collection<System> getSystems() {
+        return systems.values();
+    }
+
+    @Override
+    public SystemProfiler getSystemProfiler() {
+        return systemProfiler;
+    }
+
+    @Override
+    public void addEntity(IEntity entity) {
+        // entities may be added by systems updated on worker threads, so this shares the lock of onEntityChanged and
+        // leaves adding the entity to the entity set to the next membership update on the main thread
+        synchronized (changedEntities) {
+            if (entities.contains(entity) || !addedEntities.add(entity)) {
+                return;
+            }
+            entity.setHandle(entityHandles.register(entity));
+            entity.setEntityListener(this);
+            changedEntities.add(entity);
+        }
+    }
+
+    @Override
+    public IEntity getEntity(long handle) {
+        return entityHandles.get(handle);
+    }
+
+    @Override
+    public <E extends IEntity & Resettable> void putEntityFactory(Class<E> eClass, Supplier<E> factory) {
+        entityPool.putFactory(eClass, factory);
+    }
+
+    @Override
+    public <E extends IEntity & Resettable> E obtainEntity(Class<E> eClass) {
+        return entityPool.obtain(eClass);
+    }
+
+    @Override
+    public EntityCommandBuffer getEntityCommandBuffer() {
+        return entityCommandBuffer;
+    }
+
+    @Override
+    public <T> EntityQuery<T> getQuery(Class<T> tagClass) {
+        return getQuery(tagClass, 0L);
+    }
+
+    @Override
+    public EntityQuery<IEntity> getQuery(Set<Class<? extends Component>> componentMask) {
+        return getQuery(IEntity.class, ComponentType.getBits(componentMask));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> EntityQuery<T> getQuery(Class<T> tagClass, long componentBits) {
+        QueryKey key = new QueryKey(tagClass, componentBits);
+        // queries may be requested by systems updated on worker threads, so they are built under the lock that guards
+        // the entity set; entities added but not yet moved into the set are picked up by their membership update
+        synchronized (changedEntities) {
+            EntityQuery<T> query = (EntityQuery<T>) queries.get(key);
+            if (query == null) {
+                query = new EntityQuery<>(tagClass, componentBits);
+                for (IEntity entity : entities) {
+                    query.update(entity);
+                }
+                queries.put(key, query);
+            }
+            return query;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The returned view is live and must only be read on the main thread outside of {@link #updateSystems(float)}.
+     * Entities added since the last membership update are not part of it yet.
+     *
+     * @return the collection
+     */
+    @Override
+    public Collection<IEntity> getEntities() {
+        return Collections.unmodifiableCollection(entities);
+    }
+
+    @Override
+    public void purgeAllEntities() {
+        systems.values().forEach(System::purgeAllEntities);
+        synchronized (changedEntities) {
+            entities.forEach(this::detach);
+            addedEntities.forEach(this::detach);
+            entities.clear();
+            addedEntities.clear();
+            entityHandles.clear();
+            changedEntities.clear();
+        }
+        entityCommandBuffer.clear();
+        queries.values().forEach(EntityQuery::clear);
+        archetypeStore.clear();
+    }
+
+    @Override
+    public void onEntityChanged(IEntity entity) {
+        synchronized (changedEntities) {
+            changedEntities.add(entity);
+        }
+    }
+
+    @Override
+    public void updateSystems(float delta) {
+        entityCommandBuffer.apply(this);
+        // entities may be added or changed by IEntity::onDeath, so an iterator is not held across updates
+        IEntity entity;
+        while ((entity = pollChangedEntity()) != null) {
+            updateMembership(entity);
+        }
+        systemScheduler.update(delta);
+    }
+
+    private IEntity pollChangedEntity() {
+        synchronized (changedEntities) {
+            if (changedEntities.isEmpty()) {
+                return null;
+            }
+            Iterator<IEntity> changedIterator = changedEntities.iterator();
+            IEntity entity = changedIterator.next();
+            changedIterator.remove();
+            if (addedEntities.remove(entity)) {
+                entities.add(entity);
+            }
+            return entity;
+        }
+    }
+
+    private void detach(IEntity entity) {
+        entity.setEntityListener(null);
+        entity.setHandle(EntityHandles.NULL_HANDLE);
+    }
+
+    private void updateMembership(IEntity entity) {
+        if (entity.isDead()) {
+            systems.values().forEach(system -> {
+                if (system.entityIsMember(entity)) {
+                    system.removeEntity(entity);
+                }
+            });
+            synchronized (changedEntities) {
+                entities.remove(entity);
+            }
+            archetypeStore.remove(entity);
+            queries.values().forEach(query -> query.update(entity));
+            entity.setEntityListener(null);
+            entity.onDeath();
+            synchronized (changedEntities) {
+                entityHandles.release(entity.getHandle());
+            }
+            entity.setHandle(EntityHandles.NULL_HANDLE);
+            entityPool.free(entity);
+            return;
+        }
+        archetypeStore.update(entity);
+        queries.values().forEach(query -> query.update(entity));
+        systems.values().forEach(system -> {
+            boolean isMember = system.entityIsMember(entity);
+            boolean qualifies = system.qualifiesMembership(entity);
+            if (!isMember && qualifies) {
+                system.addEntity(entity);
+            } else if (isMember && !qualifies) {
+                system.removeEntity(entity);
+            }
+        });
+    }
+
+    private record QueryKey(Class<?> tagClass, long componentBits) {
+    }
+
+}
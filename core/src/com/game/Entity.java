@@ -1,6 +1,7 @@
 package com.game;
 
 import com.game.core.IEntity;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -10,6 +11,45 @@ import java.util.Map;
 @Getter
 @Setter
 public class Entity implements IEntity {
+
     protected final Map<Class<? extends Component>, Component> components = new HashMap<>();
+    @Setter(AccessLevel.NONE)
+    protected long componentBits;
+    protected long handle = EntityHandles.NULL_HANDLE;
+    protected long archetypeLocation = ArchetypeStore.NO_LOCATION;
+    @Setter(AccessLevel.NONE)
     protected boolean dead;
+    protected EntityListener entityListener;
+
+    @Override
+    public void setDead(boolean dead) {
+        if (this.dead == dead) {
+            return;
+        }
+        this.dead = dead;
+        notifyEntityListener();
+    }
+
+    @Override
+    public void addComponent(Component component) {
+        components.put(component.getClass(), component);
+        componentBits |= ComponentType.getBit(component.getClass());
+        notifyEntityListener();
+    }
+
+    @Override
+    public void removeComponent(Class<? extends Component> componentClass) {
+        if (components.remove(componentClass) == null) {
+            return;
+        }
+        componentBits &= ~ComponentType.getBit(componentClass);
+        notifyEntityListener();
+    }
+
+    private void notifyEntityListener() {
+        if (entityListener != null) {
+            entityListener.onEntityChanged(this);
+        }
+    }
+
 }
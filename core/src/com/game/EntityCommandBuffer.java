@@ -0,0 +1,122 @@
+package com.game;
+
+import com.game.core.IEntitiesAndSystemsManager;
+import com.game.core.IEntity;
+
+import java.util.Arrays;
+
+/**
+ * Records structural changes to entities so they can be applied in one batch at a defined sync point instead of
+ * immediately. {@link EntitiesAndSystemsManager} applies its buffer at the start of
+ * {@link EntitiesAndSystemsManager#updateSystems(float)}, before membership is updated, so every change recorded during
+ * a frame becomes visible to systems on the next frame, all at once.
+ * <p>
+ * Recording is thread safe, so systems updated off the main thread can record changes. Commands are applied on the
+ * main thread in the order they were recorded. Systems extending {@link ParallelSystem} that need the order of their
+ * commands to be deterministic should record them through {@link ParallelSystem#defer(Runnable)}.
+ */
+public class EntityCommandBuffer {
+
+    private static final byte CREATE = 0;
+    private static final byte DESTROY = 1;
+    private static final byte ADD_COMPONENT = 2;
+    private static final byte REMOVE_COMPONENT = 3;
+
+    private static final int INITIAL_CAPACITY = 32;
+
+    private byte[] commands = new byte[INITIAL_CAPACITY];
+    private IEntity[] entities = new IEntity[INITIAL_CAPACITY];
+    private Object[] arguments = new Object[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Records that the entity should be added.
+     *
+     * @param entity the entity
+     */
+    public void create(IEntity entity) {
+        record(CREATE, entity, null);
+    }
+
+    /**
+     * Records that the entity should be marked dead.
+     *
+     * @param entity the entity
+     */
+    public void destroy(IEntity entity) {
+        record(DESTROY, entity, null);
+    }
+
+    /**
+     * Records that the component should be added to the entity.
+     *
+     * @param entity    the entity
+     * @param component the component
+     */
+    public void addComponent(IEntity entity, Component component) {
+        record(ADD_COMPONENT, entity, component);
+    }
+
+    /**
+     * Records that the component of the class should be removed from the entity.
+     *
+     * @param entity         the entity
+     * @param componentClass the component class
+     */
+    public void removeComponent(IEntity entity, Class<? extends Component> componentClass) {
+        record(REMOVE_COMPONENT, entity, componentClass);
+    }
+
+    /**
+     * Returns if no commands are recorded.
+     *
+     * @return true if no commands are recorded
+     */
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Applies every recorded command in order and then clears the buffer. Commands recorded while applying are
+     * applied in the same batch.
+     *
+     * @param entitiesAndSystemsManager the manager that created entities are added to
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized void apply(IEntitiesAndSystemsManager entitiesAndSystemsManager) {
+        for (int i = 0; i < size; i++) {
+            IEntity entity = entities[i];
+            switch (commands[i]) {
+                case CREATE -> entitiesAndSystemsManager.addEntity(entity);
+                case DESTROY -> entity.setDead(true);
+                case ADD_COMPONENT -> entity.addComponent((Component) arguments[i]);
+                case REMOVE_COMPONENT -> entity.removeComponent((Class<? extends Component>) arguments[i]);
+                default -> throw new IllegalStateException("Unknown entity command: " + commands[i]);
+            }
+        }
+        clear();
+    }
+
+    /**
+     * Discards every recorded command.
+     */
+    public synchronized void clear() {
+        Arrays.fill(entities, 0, size, null);
+        Arrays.fill(arguments, 0, size, null);
+        size = 0;
+    }
+
+    private synchronized void record(byte command, IEntity entity, Object argument) {
+        if (size == commands.length) {
+            int capacity = commands.length * 2;
+            commands = Arrays.copyOf(commands, capacity);
+            entities = Arrays.copyOf(entities, capacity);
+            arguments = Arrays.copyOf(arguments, capacity);
+        }
+        commands[size] = command;
+        entities[size] = entity;
+        arguments[size] = argument;
+        size++;
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.game;
+
+import com.game.core.IEntity;
+
+import java.util.Arrays;
+
+/**
+ * Table of generational handles for {@link IEntity} instances. A handle packs the index of a slot into the low 32 bits
+ * and the generation of the slot into the high 32 bits. Each time a slot is released its generation is incremented, so
+ * handles to entities that have since died or been reused from an {@link EntityPool} resolve to null instead of to
+ * whatever entity now occupies the slot. Holding a handle instead of a reference is therefore safe with pooled
+ * entities.
+ */
+public class EntityHandles {
+
+    /**
+     * Handle that never resolves to an entity. Generations start at 1, so a zeroed handle is always stale.
+     */
+    public static final long NULL_HANDLE = 0L;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private IEntity[] entities = new IEntity[INITIAL_CAPACITY];
+    private int[] generations = new int[INITIAL_CAPACITY];
+    private int[] freeSlots = new int[INITIAL_CAPACITY];
+    private int freeCount;
+    private int slotCount;
+
+    /**
+     * Assigns a slot to the {@link IEntity} and returns its handle.
+     *
+     * @param entity the entity
+     * @return the handle
+     */
+    public long register(IEntity entity) {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (slotCount == entities.length) {
+                grow();
+            }
+            slot = slotCount++;
+            generations[slot] = 1;
+        }
+        entities[slot] = entity;
+        return toHandle(slot, generations[slot]);
+    }
+
+    /**
+     * Returns the entity of the handle, or null if the handle is stale.
+     *
+     * @param handle the handle
+     * @return the entity, or null if the handle is stale
+     */
+    public IEntity get(long handle) {
+        int slot = (int) handle;
+        if (slot < 0 || slot >= slotCount || generations[slot] != (int) (handle >>> 32)) {
+            return null;
+        }
+        return entities[slot];
+    }
+
+    /**
+     * Releases the slot of the handle so that the handle and any copies of it become stale. Does nothing if the handle
+     * is already stale.
+     *
+     * @param handle the handle
+     */
+    public void release(long handle) {
+        if (get(handle) == null) {
+            return;
+        }
+        int slot = (int) handle;
+        entities[slot] = null;
+        generations[slot]++;
+        freeSlots[freeCount++] = slot;
+    }
+
+    /**
+     * Releases every slot.
+     */
+    public void clear() {
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (entities[slot] != null) {
+                entities[slot] = null;
+                generations[slot]++;
+                freeSlots[freeCount++] = slot;
+            }
+        }
+    }
+
+    private void grow() {
+        int capacity = entities.length * 2;
+        entities = Arrays.copyOf(entities, capacity);
+        generations = Arrays.copyOf(generations, capacity);
+        freeSlots = Arrays.copyOf(freeSlots, capacity);
+    }
+
+    private static long toHandle(int slot, int generation) {
+        return ((long) generation << 32) | (slot & 0xFFFFFFFFL);
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.game;
+
+import com.game.core.IEntity;
+
+/**
+ * Listener notified when the components or the dead state of an {@link IEntity} change.
+ */
+public interface EntityListener {
+
+    /**
+     * Called when a component is added to or removed from the entity, or when the entity's dead state changes.
+     *
+     * @param entity the entity
+     */
+    void onEntityChanged(IEntity entity);
+
+}
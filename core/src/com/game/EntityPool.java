@@ -0,0 +1,70 @@
+package com.game;
+
+import com.game.core.IEntity;
+import com.game.utils.interfaces.Resettable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Pool of {@link IEntity} instances keyed by entity class. Entities of a class that has a factory put in the pool are
+ * returned to the pool by {@link EntitiesAndSystemsManager} when they die, after {@link IEntity#onDeath()}, and are
+ * handed out again by {@link #obtain(Class)}. Pooled entities keep their components, so spawning them does not allocate
+ * new component maps, sprites, bodies, or fixtures. When freed, an entity is reset through {@link Resettable#reset()}
+ * and revived, so implementations should only restore per-spawn state and leave their components in place.
+ */
+public class EntityPool {
+
+    private final Map<Class<? extends IEntity>, Supplier<? extends IEntity>> factories = new HashMap<>();
+    private final Map<Class<? extends IEntity>, Deque<IEntity>> freeEntities = new HashMap<>();
+
+    /**
+     * Puts the factory used to create entities of the class when none are free.
+     *
+     * @param eClass  the entity class
+     * @param factory the factory
+     * @param <E>     the entity type
+     */
+    public <E extends IEntity & Resettable> void putFactory(Class<E> eClass, Supplier<E> factory) {
+        factories.put(eClass, factory);
+        freeEntities.putIfAbsent(eClass, new ArrayDeque<>());
+    }
+
+    /**
+     * Returns a free entity of the class, or a new one created by the factory of the class if none are free.
+     *
+     * @param eClass the entity class
+     * @param <E>    the entity type
+     * @return the entity
+     * @throws IllegalStateException if no factory has been put for the class
+     */
+    public <E extends IEntity & Resettable> E obtain(Class<E> eClass) {
+        Deque<IEntity> free = freeEntities.get(eClass);
+        if (free == null) {
+            throw new IllegalStateException("No entity factory has been put for " + eClass.getSimpleName());
+        }
+        return eClass.cast(free.isEmpty() ? factories.get(eClass).get() : free.pop());
+    }
+
+    /**
+     * Resets and revives the entity and returns it to the pool if a factory has been put for its class, else does
+     * nothing.
+     *
+     * @param entity the entity
+     * @return true if the entity was returned to the pool
+     */
+    public boolean free(IEntity entity) {
+        Deque<IEntity> free = freeEntities.get(entity.getClass());
+        if (free == null) {
+            return false;
+        }
+        ((Resettable) entity).reset();
+        entity.setDead(false);
+        free.push(entity);
+        return true;
+    }
+
+}
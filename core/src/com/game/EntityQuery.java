@@ -0,0 +1,115 @@
+package com.game;
+
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.game.core.IEntity;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Live view of the {@link IEntity} instances that are instances of a tag class, e.g. a marker interface, and that have
+ * all the components of a component mask. Views are created and kept up to date by {@link EntitiesAndSystemsManager}
+ * on the same membership updates as {@link System} instances, so iterating a view only touches the matching entities
+ * instead of scanning every entity. Entities that die during a frame stay in the view until the next call to
+ * {@link EntitiesAndSystemsManager#updateSystems(float)}.
+ *
+ * @param <T> the tag type
+ */
+public class EntityQuery<T> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final ObjectIntMap<IEntity> indices = new ObjectIntMap<>();
+    private final Class<T> tagClass;
+    private final long componentBits;
+
+    private IEntity[] entities = new IEntity[INITIAL_CAPACITY];
+    private int size;
+
+    EntityQuery(Class<T> tagClass, long componentBits) {
+        this.tagClass = tagClass;
+        this.componentBits = componentBits;
+    }
+
+    /**
+     * Returns the number of matching entities.
+     *
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns if there are no matching entities.
+     *
+     * @return true if there are no matching entities
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the matching entity at the index.
+     *
+     * @param index the index
+     * @return the entity
+     */
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return tagClass.cast(entities[index]);
+    }
+
+    /**
+     * Performs the action for each matching entity.
+     *
+     * @param action the action
+     */
+    public void forEach(Consumer<? super T> action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(tagClass.cast(entities[i]));
+        }
+    }
+
+    boolean matches(IEntity entity) {
+        return tagClass.isInstance(entity) && entity.hasAllComponents(componentBits);
+    }
+
+    void update(IEntity entity) {
+        boolean contains = indices.containsKey(entity);
+        boolean matches = !entity.isDead() && matches(entity);
+        if (!contains && matches) {
+            add(entity);
+        } else if (contains && !matches) {
+            remove(entity);
+        }
+    }
+
+    void clear() {
+        Arrays.fill(entities, 0, size, null);
+        size = 0;
+        indices.clear();
+    }
+
+    private void add(IEntity entity) {
+        if (size == entities.length) {
+            entities = Arrays.copyOf(entities, size * 2);
+        }
+        indices.put(entity, size);
+        entities[size++] = entity;
+    }
+
+    private void remove(IEntity entity) {
+        int index = indices.remove(entity, -1);
+        int last = --size;
+        if (index != last) {
+            IEntity moved = entities[last];
+            entities[index] = moved;
+            indices.put(moved, index);
+        }
+        entities[last] = null;
+    }
+
+}
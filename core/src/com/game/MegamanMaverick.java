@@ -26,15 +26,20 @@ import com.game.behaviors.BehaviorSystem;
 import com.game.controllers.ButtonStatus;
 import com.game.controllers.ControllerButton;
 import com.game.controllers.ControllerSystem;
+import com.game.core.IController;
 import com.game.core.IEntity;
 import com.game.debugging.DebugSystem;
+import com.game.entities.decorations.Disintegration;
+import com.game.entities.decorations.ExplosionOrb;
 import com.game.entities.megaman.MegamanStats;
+import com.game.entities.projectiles.Bullet;
 import com.game.health.HealthSystem;
 import com.game.levels.LevelScreen;
 import com.game.menus.impl.MainMenuScreen;
 import com.game.sprites.SpriteSystem;
 import com.game.trajectories.TrajectorySystem;
 import com.game.updatables.UpdatableSystem;
+import com.game.utils.interfaces.Resettable;
 import com.game.utils.objects.KeyValuePair;
 import com.game.world.WorldContactListenerImpl;
 import com.game.world.WorldSystem;
@@ -42,6 +47,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.util.*;
+import java.util.function.Supplier;
 
 import static com.game.ConstVals.MusicAssets.*;
 import static com.game.ConstVals.RenderingGround.PLAYGROUND;
@@ -61,13 +67,12 @@ public class MegamanMaverick extends Game implements GameContext2d {
     private final Map<ControllerButton, ButtonStatus> controllerButtons = new EnumMap<>(ControllerButton.class);
     private final Map<RenderingGround, Viewport> viewports = new EnumMap<>(RenderingGround.class);
     private final Queue<KeyValuePair<Rectangle, Color>> debugQueue = new ArrayDeque<>();
-    private final Map<Class<? extends System>, System> systems = new LinkedHashMap<>();
     private final Map<GameScreen, Screen> screens = new EnumMap<>(GameScreen.class);
     private final Set<MessageListener> messageListeners = new HashSet<>();
     private final Queue<Message> messageQueue = new ArrayDeque<>();
     private final List<Disposable> disposables = new ArrayList<>();
     private final Map<String, Object> blackBoard = new HashMap<>();
-    private final Set<IEntity> entities = new HashSet<>();
+    private final EntitiesAndSystemsManager entitiesAndSystemsManager = new EntitiesAndSystemsManager();
     private ShapeRenderer shapeRenderer;
     private SpriteBatch spriteBatch;
     private AssetManager assetManager;
@@ -102,15 +107,12 @@ public class MegamanMaverick extends Game implements GameContext2d {
                 BITS_ATLAS);
         assetManager.finishLoading();
         // systems
-        addSystem(new HealthSystem());
-        addSystem(new UpdatableSystem());
-        addSystem(new ControllerSystem(this));
-        addSystem(new WorldSystem(new WorldContactListenerImpl(), WorldVals.AIR_RESISTANCE, WorldVals.FIXED_TIME_STEP));
-        addSystem(new BehaviorSystem());
-        addSystem(new TrajectorySystem());
-        addSystem(new AnimationSystem());
-        addSystem(new SpriteSystem((OrthographicCamera) viewports.get(PLAYGROUND).getCamera(), getSpriteBatch()));
-        addSystem(new DebugSystem(getShapeRenderer(), (OrthographicCamera) viewports.get(PLAYGROUND).getCamera()));
+        createSystems(this, (OrthographicCamera) viewports.get(PLAYGROUND).getCamera(), getSpriteBatch(),
+                getShapeRenderer()).forEach(this::addSystem);
+        // entity pools
+        putEntityFactory(Bullet.class, () -> new Bullet(this));
+        putEntityFactory(ExplosionOrb.class, () -> new ExplosionOrb(this));
+        putEntityFactory(Disintegration.class, () -> new Disintegration(this));
         // blackboard
         putBlackboardObject(MegamanVals.MEGAMAN_STATS, new MegamanStats());
         // define screens
@@ -133,59 +135,95 @@ public class MegamanMaverick extends Game implements GameContext2d {
 
     @Override
     public void addEntity(IEntity entity) {
-        entities.add(entity);
+        entitiesAndSystemsManager.addEntity(entity);
+    }
+
+    @Override
+    public IEntity getEntity(long handle) {
+        return entitiesAndSystemsManager.getEntity(handle);
+    }
+
+    @Override
+    public <E extends IEntity & Resettable> void putEntityFactory(Class<E> eClass, Supplier<E> factory) {
+        entitiesAndSystemsManager.putEntityFactory(eClass, factory);
+    }
+
+    @Override
+    public <E extends IEntity & Resettable> E obtainEntity(Class<E> eClass) {
+        return entitiesAndSystemsManager.obtainEntity(eClass);
+    }
+
+    @Override
+    public EntityCommandBuffer getEntityCommandBuffer() {
+        return entitiesAndSystemsManager.getEntityCommandBuffer();
+    }
+
+    @Override
+    public <T> EntityQuery<T> getQuery(Class<T> tagClass) {
+        return entitiesAndSystemsManager.getQuery(tagClass);
+    }
+
+    @Override
+    public EntityQuery<IEntity> getQuery(Set<Class<? extends Component>> componentMask) {
+        return entitiesAndSystemsManager.getQuery(componentMask);
     }
 
     @Override
     public Collection<IEntity> getEntities() {
-        return Collections.unmodifiableCollection(entities);
+        return entitiesAndSystemsManager.getEntities();
     }
 
     @Override
     public void purgeAllEntities() {
-        systems.values().forEach(System::purgeAllEntities);
-        entities.clear();
+        entitiesAndSystemsManager.purgeAllEntities();
+    }
+
+    /**
+     * Creates the systems of the game in the order in which they are added and therefore updated.
+     *
+     * @param controller    the controller
+     * @param camera        the playground camera
+     * @param spriteBatch   the sprite batch
+     * @param shapeRenderer the shape renderer
+     * @return the systems
+     */
+    static List<System> createSystems(IController controller, OrthographicCamera camera, SpriteBatch spriteBatch,
+                                      ShapeRenderer shapeRenderer) {
+        return List.of(
+                new HealthSystem(),
+                new UpdatableSystem(),
+                new ControllerSystem(controller),
+                new WorldSystem(new WorldContactListenerImpl(), WorldVals.AIR_RESISTANCE, WorldVals.FIXED_TIME_STEP),
+                new BehaviorSystem(),
+                new TrajectorySystem(),
+                new AnimationSystem(),
+                new SpriteSystem(camera, spriteBatch),
+                new DebugSystem(shapeRenderer, camera));
     }
 
     @Override
     public void addSystem(System system) {
-        systems.put(system.getClass(), system);
+        entitiesAndSystemsManager.addSystem(system);
     }
 
     @Override
     public <S extends System> S getSystem(Class<S> sClass) {
-        return sClass.cast(systems.get(sClass));
+        return entitiesAndSystemsManager.getSystem(sClass);
     }
 
     @Override
     public Collection<System> getSystems() {
-        return systems.values();
+        return entitiesAndSystemsManager.getSystems();
+    }
+
+    @Override
+    public SystemProfiler getSystemProfiler() {
+        return entitiesAndSystemsManager.getSystemProfiler();
     }
 
     @Override
     public void updateSystems(float delta) {
-        Iterator<IEntity> entityIterator = entities.iterator();
-        while (entityIterator.hasNext()) {
-            IEntity entity = entityIterator.next();
-            if (entity.isDead()) {
-                systems.values().forEach(system -> {
-                    if (system.entityIsMember(entity)) {
-                        system.removeEntity(entity);
-                    }
-                });
-                entityIterator.remove();
-                entity.onDeath();
-            } else {
-                systems.values().forEach(system -> {
-                    if (!system.entityIsMember(entity) && system.qualifiesMembership(entity)) {
-                        system.addEntity(entity);
-                    } else if (system.entityIsMember(entity) && !system.qualifiesMembership(entity)) {
-                        system.removeEntity(entity);
-                    }
-                });
-            }
-        }
-        systems.values().forEach(system -> system.update(delta));
+        entitiesAndSystemsManager.updateSystems(delta);
     }
 
     @Override
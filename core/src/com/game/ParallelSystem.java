@@ -0,0 +1,153 @@
+package com.game;
+
+import com.game.core.IEntity;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * {@link ArchetypeSystem} for systems whose processing of an {@link IEntity} touches only that entity. The occupied
+ * rows of each {@link Archetype} are split into chunks of {@link #getSequentialThreshold()} rows which are processed
+ * concurrently on the {@link ForkJoinPool} of the {@link SystemScheduler} that updates this System, or on the common
+ * pool if no scheduler does. If this System is itself updated on a worker of that pool, the chunks are forked onto the
+ * worker's own queue instead of being submitted to the pool from outside. Archetypes with fewer rows than the
+ * threshold are processed on the calling thread. If no {@link ArchetypeStore} has been provided, the members are
+ * processed sequentially through {@link #processEntity(IEntity, float)}.
+ * <p>
+ * Side effects that are not thread safe, e.g. adding entities or messages, should be passed to
+ * {@link #defer(Runnable)} during processing. Each chunk buffers its side effects separately, and the buffers are run
+ * in chunk order in {@link #sync(float)}, so side effects happen in the same order as if every entity had been
+ * processed sequentially regardless of which thread processed which chunk. If no scheduler updates this System, then
+ * {@link #sync(float)} is called at the end of each update cycle.
+ */
+public abstract class ParallelSystem extends ArchetypeSystem {
+
+    public static final int DEFAULT_SEQUENTIAL_THRESHOLD = 256;
+
+    private final List<List<Runnable>> deferredBuffers = new ArrayList<>();
+    private final List<ForkJoinTask<?>> tasks = new ArrayList<>();
+    private final ThreadLocal<List<Runnable>> currentBuffer = new ThreadLocal<>();
+    @Getter
+    @Setter
+    private int sequentialThreshold = DEFAULT_SEQUENTIAL_THRESHOLD;
+    private int bufferCount;
+    private ForkJoinPool forkJoinPool = ForkJoinPool.commonPool();
+    private boolean scheduled;
+
+    public ParallelSystem(Set<Class<? extends Component>> componentMask) {
+        super(componentMask);
+    }
+
+    /**
+     * Process the rows of the {@link Archetype} from inclusive to exclusive. May be called concurrently for disjoint
+     * ranges of the same archetype. Implementations should skip entities that are dead.
+     *
+     * @param archetype the archetype
+     * @param from      the first row, inclusive
+     * @param to        the last row, exclusive
+     * @param delta     the delta time
+     */
+    protected abstract void processRows(Archetype archetype, int from, int to, float delta);
+
+    /**
+     * Buffers the side effect to be run on the main thread in {@link #sync(float)}. Must only be called while entities
+     * are being processed.
+     *
+     * @param sideEffect the side effect
+     * @throws IllegalStateException if called while entities are not being processed
+     */
+    protected void defer(Runnable sideEffect) {
+        List<Runnable> buffer = currentBuffer.get();
+        if (buffer == null) {
+            throw new IllegalStateException("Side effects can only be deferred while entities are being processed");
+        }
+        buffer.add(sideEffect);
+    }
+
+    /**
+     * Called by the {@link SystemScheduler} that updates this System and then calls {@link #sync(float)}.
+     *
+     * @param forkJoinPool the pool of the scheduler
+     */
+    void schedule(ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = forkJoinPool;
+        scheduled = true;
+    }
+
+    @Override
+    public void update(float delta) {
+        super.update(delta);
+        // nothing else runs the deferred side effects when this System is updated directly
+        if (!scheduled) {
+            sync(delta);
+        }
+    }
+
+    @Override
+    protected void processEntities(float delta) {
+        List<Runnable> buffer = nextBuffer();
+        currentBuffer.set(buffer);
+        try {
+            super.processEntities(delta);
+        } finally {
+            currentBuffer.remove();
+        }
+    }
+
+    @Override
+    protected void processArchetype(Archetype archetype, float delta) {
+        int size = archetype.getSize();
+        if (size < sequentialThreshold) {
+            processChunk(archetype, 0, size, nextBuffer(), delta);
+            return;
+        }
+        // a System of a level with other systems is itself updated by a task of the pool
+        boolean inPool = ForkJoinTask.getPool() == forkJoinPool;
+        try {
+            for (int from = 0; from < size; from += sequentialThreshold) {
+                int chunkFrom = from;
+                int chunkTo = Math.min(size, from + sequentialThreshold);
+                List<Runnable> buffer = nextBuffer();
+                ForkJoinTask<?> task = ForkJoinTask.adapt(() ->
+                        processChunk(archetype, chunkFrom, chunkTo, buffer, delta));
+                tasks.add(inPool ? task.fork() : forkJoinPool.submit(task));
+            }
+            tasks.forEach(ForkJoinTask::join);
+        } finally {
+            tasks.clear();
+        }
+    }
+
+    @Override
+    protected void sync(float delta) {
+        for (int i = 0; i < bufferCount; i++) {
+            List<Runnable> buffer = deferredBuffers.get(i);
+            buffer.forEach(Runnable::run);
+            buffer.clear();
+        }
+        bufferCount = 0;
+    }
+
+    private void processChunk(Archetype archetype, int from, int to, List<Runnable> buffer, float delta) {
+        List<Runnable> prior = currentBuffer.get();
+        currentBuffer.set(buffer);
+        try {
+            processRows(archetype, from, to, delta);
+        } finally {
+            currentBuffer.set(prior);
+        }
+    }
+
+    private List<Runnable> nextBuffer() {
+        if (bufferCount == deferredBuffers.size()) {
+            deferredBuffers.add(new ArrayList<>());
+        }
+        return deferredBuffers.get(bufferCount++);
+    }
+
+}
@@ -1,9 +1,10 @@
 package com.game;
 
+import com.badlogic.gdx.utils.ObjectIntMap;
 import com.game.core.IEntity;
 import com.game.updatables.Updatable;
+import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 
 import java.util.*;
@@ -12,20 +13,49 @@ import static com.game.utils.UtilMethods.objName;
 
 /**
  * The base class of game systems. Instances of this class perform game logic on a set of {@link IEntity} instances.
- * Entities are eligible to be added to a System only if {@link IEntity#hasAllComponents(Collection)} contains all the
- * elements of {@link #componentMask}. Because the behavior of systems is independent of game state, systems should
- * only be initialized once.
+ * Entities are eligible to be added to a System only if {@link IEntity#getComponentBits()} contains all the bits of
+ * {@link #componentMask}. Because the behavior of systems is independent of game state, systems should only be
+ * initialized once.
+ * <p>
+ * Members are kept in a dense array with an {@link ObjectIntMap} of their indices for lookups, so neither lookups nor
+ * updates of the indices box. Removing a member moves the last member into its place, so iteration never allocates
+ * and its order depends only on the order in which entities were added and removed, which makes it reproducible
+ * between runs.
  */
-@RequiredArgsConstructor
 public abstract class System implements Updatable {
 
-    private final Set<IEntity> entities = new HashSet<>();
-    private final Queue<IEntity> entitiesToAddQueue = new LinkedList<>();
-    private final Queue<IEntity> entitiesToRemoveQueue = new LinkedList<>();
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final ObjectIntMap<IEntity> memberIndices = new ObjectIntMap<>();
+    private final Queue<IEntity> entitiesToAddQueue = new ArrayDeque<>();
+    private final Queue<IEntity> entitiesToRemoveQueue = new ArrayDeque<>();
+    @Getter
     private final Set<Class<? extends Component>> componentMask;
+    @Getter
+    private final long componentBits;
+    @Getter
+    private long readBits;
+    @Getter
+    private long writeBits;
+    @Getter
+    private boolean accessDeclared;
+    @Getter
+    @Setter(AccessLevel.PROTECTED)
+    private boolean mainThreadOnly;
     @Setter
     @Getter
     private boolean isOn = true;
+    @Setter
+    private SystemProfiler profiler;
+    private boolean updating;
+    private IEntity[] members = new IEntity[INITIAL_CAPACITY];
+    @Getter
+    private int memberCount;
+
+    public System(Set<Class<? extends Component>> componentMask) {
+        this.componentMask = componentMask;
+        this.componentBits = ComponentType.getBits(componentMask);
+    }
 
     /**
      * Process each {@link IEntity} during the update cycle.
@@ -36,7 +66,32 @@ public abstract class System implements Updatable {
     protected abstract void processEntity(IEntity entity, float delta);
 
     /**
-     * Optional method. Called once before {@link #entities} is filtered through {@link #processEntity(IEntity, float)}.
+     * Declares the {@link Component} classes this System reads and writes during its update cycle, including through
+     * callbacks such as sprite adapters or suppliers. This allows {@link SystemScheduler} to run the System
+     * concurrently with systems it does not conflict with. A System that does not declare its access is assumed to
+     * read and write everything, and is always run alone on the main thread.
+     *
+     * @param reads  the component classes read
+     * @param writes the component classes written
+     */
+    protected void declareAccess(Set<Class<? extends Component>> reads, Set<Class<? extends Component>> writes) {
+        readBits = ComponentType.getBits(reads) | ComponentType.getBits(writes);
+        writeBits = ComponentType.getBits(writes);
+        accessDeclared = true;
+    }
+
+    /**
+     * Optional method. Called on the main thread after the update cycle of this System and of every System scheduled
+     * alongside it has finished. Systems that may be updated off the main thread should defer side effects that are
+     * not thread safe, e.g. adding entities or messages, to this method.
+     *
+     * @param delta the delta time
+     */
+    protected void sync(float delta) {
+    }
+
+    /**
+     * Optional method. Called once before the members are filtered through {@link #processEntity(IEntity, float)}.
      *
      * @param delta the delta time
      */
@@ -44,7 +99,7 @@ public abstract class System implements Updatable {
     }
 
     /**
-     * Optional method. Called once after {@link #entities} is filtered through {@link #processEntity(IEntity, float)}.
+     * Optional method. Called once after the members are filtered through {@link #processEntity(IEntity, float)}.
      *
      * @param delta the delta time
      */
@@ -54,7 +109,8 @@ public abstract class System implements Updatable {
     /**
      * {@inheritDoc}
      * <p>
-     * If {@link #isOn()}, then update the system. Otherwise, do nothing and return.
+     * If {@link #isOn()}, then update the system. Otherwise, do nothing and return. If a {@link SystemProfiler} is set
+     * and enabled, then the update cycle is measured and recorded.
      *
      * @param delta the delta time
      */
@@ -63,42 +119,78 @@ public abstract class System implements Updatable {
         if (!isOn) {
             return;
         }
+        if (profiler == null || !profiler.isEnabled()) {
+            updateCycle(delta);
+            return;
+        }
+        long allocatedBytes = profiler.currentThreadAllocatedBytes();
+        long time = java.lang.System.nanoTime();
+        updateCycle(delta);
+        time = java.lang.System.nanoTime() - time;
+        if (allocatedBytes >= 0L) {
+            allocatedBytes = profiler.currentThreadAllocatedBytes() - allocatedBytes;
+        }
+        profiler.record(this, time, getMemberCount(), allocatedBytes);
+    }
+
+    private void updateCycle(float delta) {
+        updating = true;
         while (!entitiesToAddQueue.isEmpty()) {
-            entities.add(entitiesToAddQueue.poll());
+            addMember(entitiesToAddQueue.poll());
         }
         while (!entitiesToRemoveQueue.isEmpty()) {
-            entities.remove(entitiesToRemoveQueue.poll());
+            removeMember(entitiesToRemoveQueue.poll());
         }
-        entities.removeIf(entity -> !qualifiesMembership(entity) || entity.isDead());
         preProcess(delta);
-        entities.forEach(entity -> processEntity(entity, delta));
+        processEntities(delta);
         postProcess(delta);
+        updating = false;
+    }
+
+    /**
+     * Called once per update cycle between {@link #preProcess(float)} and {@link #postProcess(float)}. By default,
+     * each member that is not dead is filtered through {@link #processEntity(IEntity, float)}.
+     *
+     * @param delta the delta time
+     */
+    protected void processEntities(float delta) {
+        // entities that die during this frame stay members until the next membership update, so skip them here
+        for (int i = 0; i < memberCount; i++) {
+            IEntity entity = members[i];
+            if (!entity.isDead()) {
+                processEntity(entity, delta);
+            }
+        }
     }
 
     /**
-     * Returns if the {@link IEntity} can be accepted as a member of this System by comparing {@link #componentMask}
-     * to {@link IEntity#hasAllComponents(Collection)}. If the com.game.Entity's set of component keys contains all
-     * the component
-     * classes contained in this System's component mask, then the com.game.Entity is accepted, otherwise the com
-     * .game.Entity is rejected.
+     * Returns if the {@link IEntity} can be accepted as a member of this System by comparing the bits of
+     * {@link #componentMask} to {@link IEntity#getComponentBits()}. If the entity's component bits contain all the
+     * bits of this System's component mask, then the entity is accepted, otherwise the entity is rejected.
      *
      * @param entity the entity
      * @return true if the com.game.Entity can be added, else false
      */
     public boolean qualifiesMembership(IEntity entity) {
-        return entity.hasAllComponents(componentMask);
+        return entity.hasAllComponents(componentBits);
     }
 
     /**
-     * Attempts to add the {@link IEntity} as a member, returns true if the attempt is successful, else false.
+     * Adds the {@link IEntity} as a member. If this System is currently in an update cycle, then the entity is queued
+     * to be added on the next update cycle, else it is added immediately.
      *
      * @param entity the entity
+     * @throws IllegalStateException if the entity does not qualify for membership
      */
     public void addEntity(IEntity entity) {
         if (!qualifiesMembership(entity)) {
             throw new IllegalStateException("Cannot add " + objName(entity) + " as member of " + this);
         }
-        entitiesToAddQueue.add(entity);
+        if (updating) {
+            entitiesToAddQueue.add(entity);
+        } else {
+            addMember(entity);
+        }
     }
 
     /**
@@ -109,27 +201,58 @@ public abstract class System implements Updatable {
      * @param entity the entity
      */
     public void removeEntity(IEntity entity) {
-        entitiesToRemoveQueue.add(entity);
+        if (updating) {
+            entitiesToRemoveQueue.add(entity);
+        } else {
+            removeMember(entity);
+        }
     }
 
     /**
-     * Returns if the {@link IEntity} is a member of {@link #entities}. Returns false if the entity is queued
+     * Returns if the {@link IEntity} is a member. Returns false if the entity is queued
      * for membership.
      *
      * @param entity the entity
      * @return true if the entity is a member
      */
     public boolean entityIsMember(IEntity entity) {
-        return entities.contains(entity);
+        return memberIndices.containsKey(entity);
     }
 
     /**
      * Purge all entities.
      */
     public void purgeAllEntities() {
-        entities.clear();
+        Arrays.fill(members, 0, memberCount, null);
+        memberCount = 0;
+        memberIndices.clear();
         entitiesToAddQueue.clear();
         entitiesToRemoveQueue.clear();
     }
 
+    private void addMember(IEntity entity) {
+        if (memberIndices.containsKey(entity)) {
+            return;
+        }
+        if (memberCount == members.length) {
+            members = Arrays.copyOf(members, members.length * 2);
+        }
+        memberIndices.put(entity, memberCount);
+        members[memberCount++] = entity;
+    }
+
+    private void removeMember(IEntity entity) {
+        int index = memberIndices.remove(entity, -1);
+        if (index < 0) {
+            return;
+        }
+        int last = --memberCount;
+        if (index != last) {
+            IEntity moved = members[last];
+            members[index] = moved;
+            memberIndices.put(moved, index);
+        }
+        members[last] = null;
+    }
+
 }
@@ -0,0 +1,186 @@
+package com.game;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Records the update time, member count, and allocated bytes of {@link System} instances over a rolling window of
+ * frames. Each System measures its own update cycle on the thread that runs it, so systems updated concurrently by
+ * {@link SystemScheduler} are measured correctly. When disabled, the only cost per update cycle is one field read.
+ * <p>
+ * Allocated bytes are read through {@link com.sun.management.ThreadMXBean#getCurrentThreadAllocatedBytes()} and are
+ * -1 if the JVM does not support it. They only cover the thread that runs the update cycle of a System, so work the
+ * System hands to other threads, e.g. the chunks of a {@link ParallelSystem}, is not included.
+ */
+public class SystemProfiler {
+
+    public static final int DEFAULT_WINDOW_SIZE = 120;
+
+    private static final String CSV_HEADER = "system,samples,avgNanos,maxNanos,avgEntities,avgUpdateThreadAllocatedBytes";
+
+    private final Map<System, Profile> profiles = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final com.sun.management.ThreadMXBean threadMXBean;
+    @Getter
+    private final int windowSize;
+    @Getter
+    @Setter
+    private volatile boolean enabled;
+
+    public SystemProfiler() {
+        this(DEFAULT_WINDOW_SIZE);
+    }
+
+    public SystemProfiler(int windowSize) {
+        this.windowSize = windowSize;
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean sunBean && sunBean.isThreadAllocatedMemorySupported()) {
+            sunBean.setThreadAllocatedMemoryEnabled(true);
+            threadMXBean = sunBean;
+        } else {
+            threadMXBean = null;
+        }
+    }
+
+    /**
+     * Returns the number of bytes allocated so far by the current thread, or -1 if unsupported.
+     *
+     * @return the allocated bytes
+     */
+    public long currentThreadAllocatedBytes() {
+        return threadMXBean != null ? threadMXBean.getCurrentThreadAllocatedBytes() : -1L;
+    }
+
+    /**
+     * Records one update cycle of the {@link System}.
+     *
+     * @param system         the system
+     * @param nanos          the nanoseconds taken
+     * @param entityCount    the number of members
+     * @param allocatedBytes the bytes allocated by the updating thread, -1 if unknown
+     */
+    public void record(System system, long nanos, int entityCount, long allocatedBytes) {
+        // each system is only ever updated by one thread at a time, so only the map needs to be synchronized
+        Profile profile = profiles.get(system);
+        if (profile == null) {
+            profile = new Profile(system.getClass().getSimpleName(), windowSize);
+            profiles.put(system, profile);
+        }
+        profile.record(nanos, entityCount, allocatedBytes);
+    }
+
+    /**
+     * Returns the profiles in the order the systems were first recorded.
+     *
+     * @return the profiles
+     */
+    public Collection<Profile> getProfiles() {
+        return profiles.values();
+    }
+
+    /**
+     * Discards every recorded sample.
+     */
+    public void clear() {
+        profiles.clear();
+    }
+
+    /**
+     * Writes the statistics of the current window of every profile as CSV with a header row.
+     *
+     * @param out the output
+     * @throws IOException if the output throws
+     */
+    public void writeCsv(Appendable out) throws IOException {
+        out.append(CSV_HEADER).append('\n');
+        synchronized (profiles) {
+            for (Profile profile : profiles.values()) {
+                out.append(profile.getName()).append(',')
+                        .append(String.valueOf(profile.getSampleCount())).append(',')
+                        .append(String.valueOf(profile.getAverageNanos())).append(',')
+                        .append(String.valueOf(profile.getMaxNanos())).append(',')
+                        .append(String.valueOf(profile.getAverageEntityCount())).append(',')
+                        .append(String.valueOf(profile.getAverageAllocatedBytes())).append('\n');
+            }
+        }
+    }
+
+    /**
+     * Rolling window of the samples of one {@link System}.
+     */
+    public static class Profile {
+
+        @Getter
+        private final String name;
+        private final long[] nanos;
+        private final int[] entityCounts;
+        private final long[] allocatedBytes;
+        private int next;
+        @Getter
+        private int sampleCount;
+
+        Profile(String name, int windowSize) {
+            this.name = name;
+            nanos = new long[windowSize];
+            entityCounts = new int[windowSize];
+            allocatedBytes = new long[windowSize];
+        }
+
+        void record(long nanos, int entityCount, long allocatedBytes) {
+            this.nanos[next] = nanos;
+            this.entityCounts[next] = entityCount;
+            this.allocatedBytes[next] = allocatedBytes;
+            next = (next + 1) % this.nanos.length;
+            sampleCount = Math.min(sampleCount + 1, this.nanos.length);
+        }
+
+        public long getAverageNanos() {
+            return sampleCount == 0 ? 0L : sum(nanos) / sampleCount;
+        }
+
+        public long getMaxNanos() {
+            long max = 0L;
+            for (int i = 0; i < sampleCount; i++) {
+                max = Math.max(max, nanos[i]);
+            }
+            return max;
+        }
+
+        public float getAverageEntityCount() {
+            if (sampleCount == 0) {
+                return 0f;
+            }
+            long sum = 0L;
+            for (int i = 0; i < sampleCount; i++) {
+                sum += entityCounts[i];
+            }
+            return (float) sum / sampleCount;
+        }
+
+        public long getAverageAllocatedBytes() {
+            for (int i = 0; i < sampleCount; i++) {
+                if (allocatedBytes[i] < 0L) {
+                    return -1L;
+                }
+            }
+            return sampleCount == 0 ? 0L : sum(allocatedBytes) / sampleCount;
+        }
+
+        private long sum(long[] values) {
+            long sum = 0L;
+            for (int i = 0; i < sampleCount; i++) {
+                sum += values[i];
+            }
+            return sum;
+        }
+
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.game;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Schedules the update cycles of {@link System} instances using the component access each System declares through
+ * {@link System#declareAccess(java.util.Set, java.util.Set)}. Systems are placed into levels of a dependency graph:
+ * a System depends on every System added before it that it conflicts with, i.e. one writes a component the other
+ * reads or writes, and is placed in the level after the last of its dependencies. Systems in the same level therefore
+ * do not conflict and are updated concurrently, so the results are the same as updating every System one after
+ * another in the order they were added.
+ * <p>
+ * Systems that have not declared their access conflict with every other System and are updated alone on the main
+ * thread. Systems flagged with {@link System#isMainThreadOnly()}, e.g. systems that issue GL calls, are updated on the
+ * main thread while the other systems of their level are updated on the {@link ForkJoinPool}. After each level is
+ * finished, {@link System#sync(float)} is called on the main thread for every System of the level. Chunks of
+ * {@link ParallelSystem} instances are processed on the same pool.
+ */
+public class SystemScheduler {
+
+    private final List<List<System>> levels = new ArrayList<>();
+    private final List<ForkJoinTask<?>> tasks = new ArrayList<>();
+    private final ForkJoinPool forkJoinPool;
+
+    public SystemScheduler(ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    /**
+     * Rebuilds the levels from the systems, which should be supplied in the order in which they were added.
+     *
+     * @param systems the systems
+     */
+    public void build(Collection<System> systems) {
+        levels.clear();
+        List<System> ordered = new ArrayList<>(systems);
+        int[] systemLevels = new int[ordered.size()];
+        for (int j = 0; j < ordered.size(); j++) {
+            int level = 0;
+            for (int i = 0; i < j; i++) {
+                if (conflicts(ordered.get(i), ordered.get(j))) {
+                    level = Math.max(level, systemLevels[i] + 1);
+                }
+            }
+            systemLevels[j] = level;
+            while (levels.size() <= level) {
+                levels.add(new ArrayList<>());
+            }
+            levels.get(level).add(ordered.get(j));
+            if (ordered.get(j) instanceof ParallelSystem parallelSystem) {
+                parallelSystem.schedule(forkJoinPool);
+            }
+        }
+    }
+
+    /**
+     * Returns the levels of the last build, each level holding the systems that are updated concurrently.
+     *
+     * @return the levels
+     */
+    List<List<System>> getLevels() {
+        return levels;
+    }
+
+    /**
+     * Updates each level of systems in order.
+     *
+     * @param delta the delta time
+     */
+    public void update(float delta) {
+        for (List<System> level : levels) {
+            if (level.size() == 1) {
+                level.get(0).update(delta);
+            } else {
+                try {
+                    for (System system : level) {
+                        if (!system.isMainThreadOnly()) {
+                            tasks.add(forkJoinPool.submit(() -> system.update(delta)));
+                        }
+                    }
+                    for (System system : level) {
+                        if (system.isMainThreadOnly()) {
+                            system.update(delta);
+                        }
+                    }
+                    tasks.forEach(ForkJoinTask::join);
+                } finally {
+                    tasks.clear();
+                }
+            }
+            level.forEach(system -> system.sync(delta));
+        }
+    }
+
+    private static boolean conflicts(System s1, System s2) {
+        if (!s1.isAccessDeclared() || !s2.isAccessDeclared()) {
+            return true;
+        }
+        return (s1.getWriteBits() & s2.getReadBits()) != 0L || (s1.getReadBits() & s2.getWriteBits()) != 0L;
+    }
+
+}
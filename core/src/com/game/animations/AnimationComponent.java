@@ -2,6 +2,7 @@ package com.game.animations;
 
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.game.Component;
+import com.game.utils.interfaces.Resettable;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
@@ -9,7 +10,7 @@ import java.util.Map;
 import java.util.function.Supplier;
 
 @RequiredArgsConstructor
-public class AnimationComponent implements Component {
+public class AnimationComponent implements Component, Resettable {
 
     private final Supplier<String> animationKeySupplier;
     private final Map<String, TimedAnimation> animations;
@@ -48,4 +49,13 @@ public class AnimationComponent implements Component {
         }
     }
 
+    /**
+     * Resets every animation and clears the current animation key.
+     */
+    @Override
+    public void reset() {
+        animations.values().forEach(TimedAnimation::reset);
+        currentAnimationKey = null;
+    }
+
 }
@@ -1,21 +1,42 @@
 package com.game.animations;
 
-import com.game.System;
+import com.game.Archetype;
+import com.game.ComponentType;
+import com.game.ParallelSystem;
 import com.game.core.IEntity;
 import com.game.sprites.SpriteComponent;
 
 import java.util.Set;
 
-public class AnimationSystem extends System {
+public class AnimationSystem extends ParallelSystem {
+
+    private final int spriteIndex = ComponentType.getIndex(SpriteComponent.class);
+    private final int animationIndex = ComponentType.getIndex(AnimationComponent.class);
 
     public AnimationSystem() {
         super(Set.of(SpriteComponent.class, AnimationComponent.class));
+        // access is not declared since the key suppliers of animators may read any state of their entity, e.g. the
+        // body component, so this System is always run alone
     }
 
     @Override
     protected void processEntity(IEntity entity, float delta) {
-        SpriteComponent spriteComponent = entity.getComponent(SpriteComponent.class);
-        AnimationComponent animationComponent = entity.getComponent(AnimationComponent.class);
+        animate(entity.getComponent(SpriteComponent.class), entity.getComponent(AnimationComponent.class), delta);
+    }
+
+    @Override
+    protected void processRows(Archetype archetype, int from, int to, float delta) {
+        IEntity[] entities = archetype.getEntities();
+        SpriteComponent[] spriteComponents = archetype.getColumn(spriteIndex);
+        AnimationComponent[] animationComponents = archetype.getColumn(animationIndex);
+        for (int i = from; i < to; i++) {
+            if (!entities[i].isDead()) {
+                animate(spriteComponents[i], animationComponents[i], delta);
+            }
+        }
+    }
+
+    private void animate(SpriteComponent spriteComponent, AnimationComponent animationComponent, float delta) {
         animationComponent.animate(spriteComponent.getSprite(), delta);
     }
 
@@ -1,8 +1,15 @@
 package com.game.core;
 
+import com.game.Component;
+import com.game.EntityCommandBuffer;
+import com.game.EntityQuery;
 import com.game.System;
+import com.game.SystemProfiler;
+import com.game.utils.interfaces.Resettable;
 
 import java.util.Collection;
+import java.util.Set;
+import java.util.function.Supplier;
 
 public interface IEntitiesAndSystemsManager {
 
@@ -29,6 +36,13 @@ public interface IEntitiesAndSystemsManager {
      */
     Collection<System> getSystems();
 
+    /**
+     * Returns the {@link SystemProfiler} set on every added {@link System}. The profiler is disabled by default.
+     *
+     * @return the system profiler
+     */
+    SystemProfiler getSystemProfiler();
+
     /**
      * Update systems.
      *
@@ -45,7 +59,61 @@ public interface IEntitiesAndSystemsManager {
     void addEntity(IEntity entity);
 
     /**
-     * View of entities collection.
+     * Returns the {@link IEntity} of the handle, or null if the entity of the handle has died.
+     *
+     * @param handle the handle, see {@link IEntity#getHandle()}
+     * @return the entity, or null if the handle is stale
+     */
+    IEntity getEntity(long handle);
+
+    /**
+     * Puts the factory used to create pooled entities of the class. Once a factory is put, entities of the class are
+     * returned to the pool when they die and can be reused through {@link #obtainEntity(Class)}.
+     *
+     * @param eClass  the entity class
+     * @param factory the factory
+     * @param <E>     the entity type
+     */
+    <E extends IEntity & Resettable> void putEntityFactory(Class<E> eClass, Supplier<E> factory);
+
+    /**
+     * Returns a pooled entity of the class. The entity still needs to be added through {@link #addEntity(IEntity)}.
+     *
+     * @param eClass the entity class
+     * @param <E>    the entity type
+     * @return the entity
+     */
+    <E extends IEntity & Resettable> E obtainEntity(Class<E> eClass);
+
+    /**
+     * Returns the {@link EntityCommandBuffer} applied at the start of {@link #updateSystems(float)}. Entities should be
+     * created and destroyed through the buffer while systems are being updated.
+     *
+     * @return the entity command buffer
+     */
+    EntityCommandBuffer getEntityCommandBuffer();
+
+    /**
+     * Returns the live {@link EntityQuery} of entities that are instances of the tag class, e.g. a marker interface.
+     * Repeated calls with the same tag class return the same view.
+     *
+     * @param tagClass the tag class
+     * @param <T>      the tag type
+     * @return the query
+     */
+    <T> EntityQuery<T> getQuery(Class<T> tagClass);
+
+    /**
+     * Returns the live {@link EntityQuery} of entities that have all the components of the component mask. Repeated
+     * calls with the same component mask return the same view.
+     *
+     * @param componentMask the component mask
+     * @return the query
+     */
+    EntityQuery<IEntity> getQuery(Set<Class<? extends Component>> componentMask);
+
+    /**
+     * View of entities collection. Must only be read on the main thread.
      *
      * @return the collection
      */
@@ -1,6 +1,10 @@
 package com.game.core;
 
+import com.game.ArchetypeStore;
 import com.game.Component;
+import com.game.ComponentType;
+import com.game.EntityHandles;
+import com.game.EntityListener;
 
 import java.util.Collection;
 import java.util.Map;
@@ -9,6 +13,32 @@ public interface IEntity {
 
     Map<Class<? extends Component>, Component> getComponents();
 
+    /**
+     * Returns the bit signature of the components of this entity. See {@link ComponentType}.
+     *
+     * @return the component bits
+     */
+    long getComponentBits();
+
+    /**
+     * Returns the generational handle assigned to this entity while it is managed, see {@link EntityHandles}.
+     *
+     * @return the handle
+     */
+    long getHandle();
+
+    void setHandle(long handle);
+
+    /**
+     * Returns the archetype index and row of this entity packed into a long, or {@link ArchetypeStore#NO_LOCATION} if
+     * the entity is not placed in an {@link ArchetypeStore}. Only the store should set the location.
+     *
+     * @return the archetype location
+     */
+    long getArchetypeLocation();
+
+    void setArchetypeLocation(long archetypeLocation);
+
     boolean isDead();
 
     void setDead(boolean dead);
@@ -23,12 +53,34 @@ public interface IEntity {
         return getComponents().containsKey(clazz) && clazz.isAssignableFrom(getComponents().get(clazz).getClass());
     }
 
-    default boolean hasAllComponents(Collection<Class<? extends Component>> clazzes) {
-        return getComponents().keySet().containsAll(clazzes);
+    default boolean hasAllComponents(long componentBits) {
+        return (getComponentBits() & componentBits) == componentBits;
     }
 
-    default void addComponent(Component component) {
-        getComponents().put(component.getClass(), component);
+    default boolean hasAllComponents(Collection<Class<? extends Component>> clazzes) {
+        return hasAllComponents(ComponentType.getBits(clazzes));
     }
 
+    /**
+     * Adds the component and sets its bit in {@link #getComponentBits()}. Components should never be put directly
+     * into {@link #getComponents()} since the component bits would then be out of sync.
+     *
+     * @param component the component
+     */
+    void addComponent(Component component);
+
+    /**
+     * Removes the component of the class and clears its bit in {@link #getComponentBits()}.
+     *
+     * @param componentClass the component class
+     */
+    void removeComponent(Class<? extends Component> componentClass);
+
+    /**
+     * Sets the listener to be notified when a component is added or removed or when the dead state changes.
+     *
+     * @param entityListener the entity listener, null to clear
+     */
+    void setEntityListener(EntityListener entityListener);
+
 }
@@ -1,31 +1,50 @@
 package com.game.cull;
 
 import com.badlogic.gdx.graphics.Camera;
-import com.game.System;
+import com.game.Archetype;
+import com.game.ComponentType;
+import com.game.ParallelSystem;
 import com.game.core.IEntity;
 import com.game.utils.UtilMethods;
 
 import java.util.Set;
 
-public class CullOnOutOfCamBoundsSystem extends System {
+public class CullOnOutOfCamBoundsSystem extends ParallelSystem {
 
+    private final int cullIndex = ComponentType.getIndex(CullOnOutOfCamBoundsComponent.class);
     private final Camera camera;
 
     public CullOnOutOfCamBoundsSystem(Camera camera) {
         super(Set.of(CullOnOutOfCamBoundsComponent.class));
+        // access is not declared since the bounds suppliers may read any state of their entity, e.g. the body
+        // component, so this System is always run alone
         this.camera = camera;
     }
 
     @Override
     protected void processEntity(IEntity entity, float delta) {
-        CullOnOutOfCamBoundsComponent cullComponent = entity.getComponent(CullOnOutOfCamBoundsComponent.class);
+        cull(entity, entity.getComponent(CullOnOutOfCamBoundsComponent.class), delta);
+    }
+
+    @Override
+    protected void processRows(Archetype archetype, int from, int to, float delta) {
+        IEntity[] entities = archetype.getEntities();
+        CullOnOutOfCamBoundsComponent[] cullComponents = archetype.getColumn(cullIndex);
+        for (int i = from; i < to; i++) {
+            if (!entities[i].isDead()) {
+                cull(entities[i], cullComponents[i], delta);
+            }
+        }
+    }
+
+    private void cull(IEntity entity, CullOnOutOfCamBoundsComponent cullComponent, float delta) {
         if (camera.frustum.boundsInFrustum(UtilMethods.rectToBBox(cullComponent.getBounds()))) {
             cullComponent.resetCullTimer();
             return;
         }
         cullComponent.updateCullTimer(delta);
         if (cullComponent.isCullTimerFinished()) {
-            entity.setDead(true);
+            defer(() -> entity.setDead(true));
         }
     }
 
@@ -18,6 +18,9 @@ public class DebugSystem extends System {
 
     public DebugSystem(ShapeRenderer shapeRenderer, OrthographicCamera camera) {
         super(Set.of(DebugComponent.class));
+        // access is not declared since the suppliers of debug handles may read any state of their entity, so this
+        // System is always run alone, and drawing must happen on the GL thread
+        setMainThreadOnly(true);
         this.shapeRenderer = shapeRenderer;
         this.camera = camera;
     }
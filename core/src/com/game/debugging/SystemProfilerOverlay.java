@@ -0,0 +1,66 @@
+package com.game.debugging;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Disposable;
+import com.game.SystemProfiler;
+import com.game.SystemProfiler.Profile;
+import com.game.utils.interfaces.Drawable;
+import com.game.utils.objects.FontHandle;
+import com.game.world.WorldTelemetry;
+
+/**
+ * Draws the statistics of a {@link SystemProfiler} as text, one line per {@link com.game.System}, followed by the
+ * {@link WorldTelemetry} of the last world update. Nothing is drawn while the profiler is disabled. The text is rebuilt
+ * in the same {@link StringBuilder} every frame, which the font handle draws directly.
+ */
+public class SystemProfilerOverlay implements Drawable, Disposable {
+
+    private final StringBuilder text = new StringBuilder();
+    private final SystemProfiler systemProfiler;
+    private final WorldTelemetry worldTelemetry;
+    private final FontHandle fontHandle;
+    private final Camera camera;
+
+    public SystemProfilerOverlay(SystemProfiler systemProfiler, WorldTelemetry worldTelemetry, Camera camera,
+                                 Vector2 position) {
+        this.systemProfiler = systemProfiler;
+        this.worldTelemetry = worldTelemetry;
+        this.camera = camera;
+        fontHandle = new FontHandle("Megaman10Font.ttf", 6, position);
+        fontHandle.setText(text);
+    }
+
+    @Override
+    public void draw(SpriteBatch spriteBatch) {
+        if (!systemProfiler.isEnabled()) {
+            return;
+        }
+        text.setLength(0);
+        text.append("system / avg us / max us / entities / avg update thread bytes\n");
+        for (Profile profile : systemProfiler.getProfiles()) {
+            text.append(profile.getName()).append(" / ")
+                    .append(profile.getAverageNanos() / 1000L).append(" / ")
+                    .append(profile.getMaxNanos() / 1000L).append(" / ")
+                    .append(Math.round(profile.getAverageEntityCount())).append(" / ")
+                    .append(profile.getAverageAllocatedBytes()).append('\n');
+        }
+        text.append("world substeps / carried / dropped / pairs / contacts / resolution us / over budget\n")
+                .append(worldTelemetry.getSubsteps()).append(" / ")
+                .append(worldTelemetry.getCarriedSubsteps()).append(" / ")
+                .append(worldTelemetry.getDroppedSubsteps()).append(" / ")
+                .append(worldTelemetry.getPairsTested()).append(" / ")
+                .append(worldTelemetry.getContacts()).append(" / ")
+                .append(worldTelemetry.getResolutionNanos() / 1000L).append(" / ")
+                .append(worldTelemetry.getBudgetExceededCount()).append('\n');
+        spriteBatch.setProjectionMatrix(camera.combined);
+        fontHandle.draw(spriteBatch);
+    }
+
+    @Override
+    public void dispose() {
+        fontHandle.dispose();
+    }
+
+}
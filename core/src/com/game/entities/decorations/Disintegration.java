@@ -3,7 +3,6 @@ package com.game.entities.decorations;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.math.Vector2;
-import com.game.Component;
 import com.game.ConstVals.TextureAssets;
 import com.game.Entity;
 import com.game.GameContext2d;
@@ -11,47 +10,59 @@ import com.game.animations.AnimationComponent;
 import com.game.animations.TimedAnimation;
 import com.game.sprites.SpriteComponent;
 import com.game.updatables.UpdatableComponent;
+import com.game.utils.interfaces.Resettable;
 import com.game.utils.objects.Timer;
 import com.game.world.BodyComponent;
 import com.game.world.BodyType;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import static com.game.ConstVals.ViewVals.PPM;
 
 @Getter
 @Setter
-public class Disintegration extends Entity {
+public class Disintegration extends Entity implements Resettable {
 
     public static final float DISINTEGRATION_DURATION = 1f;
 
-    private final Map<Class<? extends Component>, Component> components = new HashMap<>();
     private final Timer timer = new Timer(DISINTEGRATION_DURATION);
-    private boolean dead;
 
-    public Disintegration(GameContext2d gameContext, Vector2 center) {
+    /**
+     * Disintegrations are pooled, see {@link GameContext2d#obtainEntity(Class)}. {@link #init(Vector2)} should be
+     * called before the disintegration is added.
+     *
+     * @param gameContext the game context
+     */
+    public Disintegration(GameContext2d gameContext) {
         addComponent(defineUpdatableComponent());
-        addComponent(defineBodyComponent(center));
-        addComponent(defineSpriteComponent(center));
+        addComponent(defineBodyComponent());
+        addComponent(defineSpriteComponent());
         addComponent(defineAnimationComponent(gameContext));
     }
 
-    private BodyComponent defineBodyComponent(Vector2 center) {
+    public void init(Vector2 center) {
+        getComponent(BodyComponent.class).setCenter(center);
+        getComponent(SpriteComponent.class).getSprite().setCenter(center.x, center.y);
+    }
+
+    @Override
+    public void reset() {
+        timer.reset();
+        getComponent(AnimationComponent.class).reset();
+        getComponent(BodyComponent.class).reset();
+    }
+
+    private BodyComponent defineBodyComponent() {
         BodyComponent bodyComponent = new BodyComponent(BodyType.ABSTRACT);
         bodyComponent.setFriction(0f, 0f);
         bodyComponent.setSize(PPM, PPM);
-        bodyComponent.setCenter(center);
         bodyComponent.setGravityOn(false);
         return bodyComponent;
     }
 
-    private SpriteComponent defineSpriteComponent(Vector2 center) {
+    private SpriteComponent defineSpriteComponent() {
         Sprite sprite = new Sprite();
         sprite.setSize(PPM, PPM);
-        sprite.setCenter(center.x, center.y);
         return new SpriteComponent(sprite);
     }
 
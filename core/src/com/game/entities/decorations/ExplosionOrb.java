@@ -11,6 +11,7 @@ import com.game.animations.TimedAnimation;
 import com.game.levels.CullOnOutOfCamBounds;
 import com.game.sprites.SpriteComponent;
 import com.game.updatables.UpdatableComponent;
+import com.game.utils.interfaces.Resettable;
 import com.game.utils.objects.Timer;
 import lombok.Getter;
 
@@ -18,25 +19,43 @@ import static com.game.ConstVals.TextureAssets.DECORATIONS_TEXTURE_ATLAS;
 import static com.game.ConstVals.ViewVals.PPM;
 
 @Getter
-public class ExplosionOrb extends Entity implements CullOnOutOfCamBounds {
+public class ExplosionOrb extends Entity implements CullOnOutOfCamBounds, Resettable {
 
     private final Timer cullTimer = new Timer(.5f);
+    private final Vector2 trajectory = new Vector2();
 
-    public ExplosionOrb(GameContext2d gameContext, Vector2 spawn, Vector2 trajectory) {
-        addComponent(defineUpdatableComponent(trajectory));
+    /**
+     * Explosion orbs are pooled, see {@link GameContext2d#obtainEntity(Class)}. {@link #init(Vector2, Vector2)} should
+     * be called before the explosion orb is added.
+     *
+     * @param gameContext the game context
+     */
+    public ExplosionOrb(GameContext2d gameContext) {
+        addComponent(defineUpdatableComponent());
         addComponent(defineAnimationComponent(gameContext));
-        addComponent(defineSpriteComponent(spawn));
+        addComponent(defineSpriteComponent());
     }
 
-    private UpdatableComponent defineUpdatableComponent(Vector2 trajectory) {
+    public void init(Vector2 spawn, Vector2 trajectory) {
+        this.trajectory.set(trajectory);
+        getComponent(SpriteComponent.class).getSprite().setCenter(spawn.x, spawn.y);
+    }
+
+    @Override
+    public void reset() {
+        trajectory.setZero();
+        cullTimer.reset();
+        getComponent(AnimationComponent.class).reset();
+    }
+
+    private UpdatableComponent defineUpdatableComponent() {
         return new UpdatableComponent(delta -> getComponent(SpriteComponent.class).getSprite().translate(
                 trajectory.x * PPM * delta, trajectory.y * PPM * delta));
     }
 
-    private SpriteComponent defineSpriteComponent(Vector2 spawn) {
+    private SpriteComponent defineSpriteComponent() {
         Sprite sprite = new Sprite();
         sprite.setSize(3f * PPM, 3f * PPM);
-        sprite.setCenter(spawn.x, spawn.y);
         return new SpriteComponent(sprite);
     }
 
@@ -140,8 +140,9 @@ public class Megaman extends Entity implements Damageable, Faceable, CameraFocus
                 } else if (!getComponent(BodyComponent.class).is(BodySense.FEET_ON_GROUND)) {
                     spawn.y += 4.5f;
                 }
-                Bullet bullet = new Bullet(gameContext, this, trajectory, spawn);
-                gameContext.addEntity(bullet);
+                Bullet bullet = gameContext.obtainEntity(Bullet.class);
+                bullet.init(this, trajectory, spawn);
+                gameContext.getEntityCommandBuffer().create(bullet);
                 shootCoolDownTimer.reset();
                 shootAnimationTimer.reset();
                 gameContext.getAsset(MEGA_BUSTER_BULLET_SHOT_SOUND, Sound.class).play();
@@ -166,8 +167,12 @@ public class Megaman extends Entity implements Damageable, Faceable, CameraFocus
                 add(new Vector2(0f, -EXPLOSION_ORB_SPEED));
                 add(new Vector2(-EXPLOSION_ORB_SPEED, -EXPLOSION_ORB_SPEED));
             }};
-            trajectories.forEach(trajectory -> gameContext.addEntity(new ExplosionOrb(
-                    gameContext, getComponent(BodyComponent.class).getCenter(), trajectory)));
+            Vector2 center = getComponent(BodyComponent.class).getCenter();
+            trajectories.forEach(trajectory -> {
+                ExplosionOrb explosionOrb = gameContext.obtainEntity(ExplosionOrb.class);
+                explosionOrb.init(center, trajectory);
+                gameContext.getEntityCommandBuffer().create(explosionOrb);
+            });
             gameContext.addMessage(new Message(this, ConstVals.Events.PLAYER_DEAD));
         });
     }
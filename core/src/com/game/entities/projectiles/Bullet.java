@@ -5,16 +5,18 @@ import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
-import com.game.Component;
 import com.game.ConstVals.TextureAssets;
+import com.game.Entity;
 import com.game.GameContext2d;
 import com.game.core.IEntity;
 import com.game.entities.contracts.Damager;
 import com.game.entities.contracts.Hitter;
+import com.game.entities.decorations.Disintegration;
 import com.game.levels.CullOnLevelCamTrans;
 import com.game.levels.CullOnOutOfCamBounds;
 import com.game.sprites.SpriteComponent;
 import com.game.utils.enums.Position;
+import com.game.utils.interfaces.Resettable;
 import com.game.utils.objects.Timer;
 import com.game.world.BodyComponent;
 import com.game.world.BodyType;
@@ -23,32 +25,48 @@ import com.game.world.FixtureType;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import static com.game.ConstVals.ViewVals.PPM;
 import static com.game.world.FixtureType.BLOCK;
 
 @Getter
 @Setter
-public class Bullet implements IEntity, Hitter, Damager, CullOnOutOfCamBounds, CullOnLevelCamTrans {
+public class Bullet extends Entity implements Hitter, Damager, CullOnOutOfCamBounds, CullOnLevelCamTrans, Resettable {
 
     private final GameContext2d gameContext;
 
-    private final Map<Class<? extends Component>, Component> components = new HashMap<>();
     private final Vector2 trajectory = new Vector2();
     private final Timer cullTimer = new Timer(.15f);
-    private boolean dead;
     private int damage;
     private IEntity owner;
 
-    public Bullet(GameContext2d gameContext, IEntity owner, Vector2 trajectory, Vector2 spawn) {
+    /**
+     * Bullets are pooled, see {@link GameContext2d#obtainEntity(Class)}. {@link #init(IEntity, Vector2, Vector2)}
+     * should be called before the bullet is added.
+     *
+     * @param gameContext the game context
+     */
+    public Bullet(GameContext2d gameContext) {
         this.gameContext = gameContext;
-        this.owner = owner;
-        this.trajectory.set(trajectory);
         addComponent(defineSpriteComponent(gameContext.getAsset(TextureAssets.OBJECTS_TEXTURE_ATLAS,
                 TextureAtlas.class).findRegion("YellowBullet")));
-        addComponent(defineBodyComponent(spawn));
+        addComponent(defineBodyComponent());
+    }
+
+    public void init(IEntity owner, Vector2 trajectory, Vector2 spawn) {
+        this.owner = owner;
+        this.trajectory.set(trajectory);
+        BodyComponent bodyComponent = getComponent(BodyComponent.class);
+        bodyComponent.setCenter(spawn.x, spawn.y);
+        bodyComponent.setPriorCollisionBoxToCurrent();
+        bodyComponent.getFixtures().forEach(fixture -> fixture.setCenter(spawn.x, spawn.y));
+    }
+
+    @Override
+    public void reset() {
+        owner = null;
+        trajectory.setZero();
+        cullTimer.reset();
+        getComponent(BodyComponent.class).reset();
     }
 
     @Override
@@ -57,7 +75,9 @@ public class Bullet implements IEntity, Hitter, Damager, CullOnOutOfCamBounds, C
     }
 
     public void disintegrate() {
-
+        Disintegration disintegration = gameContext.obtainEntity(Disintegration.class);
+        disintegration.init(getComponent(BodyComponent.class).getCenter());
+        gameContext.addEntity(disintegration);
     }
 
     private SpriteComponent defineSpriteComponent(TextureRegion textureRegion) {
@@ -71,18 +91,15 @@ public class Bullet implements IEntity, Hitter, Damager, CullOnOutOfCamBounds, C
         });
     }
 
-    private BodyComponent defineBodyComponent(Vector2 spawn) {
+    private BodyComponent defineBodyComponent() {
         BodyComponent bodyComponent = new BodyComponent(BodyType.DYNAMIC);
         bodyComponent.setPreProcess(delta -> bodyComponent.setVelocity(trajectory));
         bodyComponent.setSize(.1f * PPM, .1f * PPM);
-        bodyComponent.setCenter(spawn.x, spawn.y);
         Fixture projectile = new Fixture(this, FixtureType.HITTER_BOX);
         projectile.setSize(.1f * PPM, .1f * PPM);
-        projectile.setCenter(spawn.x, spawn.y);
         bodyComponent.addFixture(projectile);
         Fixture damageBox = new Fixture(this, FixtureType.DAMAGER_BOX);
         damageBox.setSize(.1f * PPM, .1f * PPM);
-        damageBox.setCenter(spawn.x, spawn.y);
         bodyComponent.addFixture(damageBox);
         return bodyComponent;
     }
@@ -1,25 +1,47 @@
 package com.game.health;
 
+import com.game.Archetype;
+import com.game.ComponentType;
+import com.game.ParallelSystem;
 import com.game.System;
 import com.game.core.IEntity;
 
 import java.util.Set;
 
 /**
- * {@link System} implementation for entity health.
+ * {@link System} implementation for entity health. Run-on-death callbacks may add entities, so they are deferred to
+ * {@link #sync(float)} and therefore run after every System of the same scheduler level has been updated, rather
+ * than while health is being processed.
  */
-public class HealthSystem extends System {
+public class HealthSystem extends ParallelSystem {
+
+    private final int healthIndex = ComponentType.getIndex(HealthComponent.class);
 
     public HealthSystem() {
         super(Set.of(HealthComponent.class));
+        declareAccess(getComponentMask(), getComponentMask());
     }
 
     @Override
     protected void processEntity(IEntity entity, float delta) {
-        HealthComponent healthComponent = entity.getComponent(HealthComponent.class);
+        updateHealth(entity, entity.getComponent(HealthComponent.class));
+    }
+
+    @Override
+    protected void processRows(Archetype archetype, int from, int to, float delta) {
+        IEntity[] entities = archetype.getEntities();
+        HealthComponent[] healthComponents = archetype.getColumn(healthIndex);
+        for (int i = from; i < to; i++) {
+            if (!entities[i].isDead()) {
+                updateHealth(entities[i], healthComponents[i]);
+            }
+        }
+    }
+
+    private void updateHealth(IEntity entity, HealthComponent healthComponent) {
         if (healthComponent.isHealthJustDepleted()) {
             entity.setDead(true);
-            healthComponent.getRunOnDeath().run();
+            defer(healthComponent.getRunOnDeath());
         }
         healthComponent.setPriorHealth(healthComponent.getCurrentHealth());
     }
@@ -30,6 +30,7 @@ public class LevelCameraManager implements Updatable {
     private final Vector2 transStartPos = new Vector2();
     private CameraFocusable queuedFocusable;
     private CameraFocusable focusable;
+    @Getter
     private Rectangle currentGameRoom;
     @Getter
     private ProcessState transitionState;
@@ -1,6 +1,7 @@
 package com.game.levels;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input.Keys;
 import com.badlogic.gdx.ScreenAdapter;
 import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.audio.Sound;
@@ -12,11 +13,15 @@ import com.badlogic.gdx.maps.objects.RectangleMapObject;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.game.ConstVals;
+import com.game.EntityQuery;
 import com.game.GameContext2d;
 import com.game.MessageListener;
+import com.game.SystemProfiler;
 import com.game.behaviors.BehaviorSystem;
 import com.game.controllers.ControllerButton;
 import com.game.controllers.ControllerSystem;
+import com.game.core.IEntity;
+import com.game.debugging.SystemProfilerOverlay;
 import com.game.entities.blocks.Block;
 import com.game.entities.megaman.Megaman;
 import com.game.entities.sensors.DeathSensor;
@@ -31,18 +36,21 @@ import com.game.utils.enums.Direction;
 import com.game.utils.objects.Timer;
 import com.game.utils.UtilMethods;
 import com.game.world.BodyComponent;
+import com.game.world.BodyType;
 import com.game.world.Fixture;
 import com.game.world.WorldSystem;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import static com.game.ConstVals.RenderingGround.PLAYGROUND;
+import static com.game.ConstVals.RenderingGround.UI;
 import static com.game.ConstVals.TextureAssets.BITS_ATLAS;
-import static com.game.ConstVals.ViewVals.PPM;
-import static com.game.world.FixtureType.FEET_STICKER;
+import static com.game.ConstVals.ViewVals.*;
 import static com.game.world.FixtureType.WALL_SLIDE_SENSOR;
 
 public class LevelScreen extends ScreenAdapter implements MessageListener {
@@ -56,6 +64,7 @@ public class LevelScreen extends ScreenAdapter implements MessageListener {
 
     public static final float LEVEL_CAM_TRANS_DURATION = 1f;
     public static final float MEGAMAN_DELTA_ON_CAM_TRANS = 3f;
+    public static final String SYSTEM_PROFILE_CSV = "system-profile.csv";
 
     private final GameContext2d gameContext;
     private final String tmxFile;
@@ -63,11 +72,14 @@ public class LevelScreen extends ScreenAdapter implements MessageListener {
     private final Sprite blackBoxSprite = new Sprite();
     private final Timer deathTimer = new Timer(4f);
     private final Timer fadeTimer = new Timer();
+    private final EntityQuery<CullOnOutOfCamBounds> cullOnOutOfCamBoundsQuery;
+    private final EntityQuery<CullOnLevelCamTrans> cullOnLevelCamTransQuery;
 
     private Megaman megaman;
 
     private Music music;
     private BitsBarUi healthBar;
+    private SystemProfilerOverlay systemProfilerOverlay;
     private LevelTiledMap levelTiledMap;
     private EntitySpawnManager entitySpawnManager;
     private LevelCameraManager levelCameraManager;
@@ -80,6 +92,8 @@ public class LevelScreen extends ScreenAdapter implements MessageListener {
         this.gameContext = gameContext;
         this.tmxFile = tmxFile;
         this.musicSrc = musicSrc;
+        this.cullOnOutOfCamBoundsQuery = gameContext.getQuery(CullOnOutOfCamBounds.class);
+        this.cullOnLevelCamTransQuery = gameContext.getQuery(CullOnLevelCamTrans.class);
     }
 
     @Override
@@ -102,8 +116,11 @@ public class LevelScreen extends ScreenAdapter implements MessageListener {
                 new EntitySpawn(gameContext, enemySpawnObj, factory.getFunction(enemySpawnObj.getName()))).toList();
         entitySpawnManager = new EntitySpawnManager(gameContext.getViewport(PLAYGROUND).getCamera(),
                 playerSpawns, enemySpawns);
-        // define blocks
-        levelTiledMap.getObjectsOfLayer(BLOCKS).forEach(blockObj -> {
+        // define blocks, adjacent blocks with equal properties are merged into one block unless they move
+        List<RectangleMapObject> blockObjs = levelTiledMap.getMergedObjectsOfLayer(BLOCKS, blockObj ->
+                !blockObj.getProperties().containsKey("trajectory") &&
+                        !Boolean.TRUE.equals(blockObj.getProperties().get("gravityOn", Boolean.class)));
+        blockObjs.forEach(blockObj -> {
             Boolean wallSlideLeft = blockObj.getProperties().get("wallSlideLeft", Boolean.class);
             Boolean wallSlideRight = blockObj.getProperties().get("wallSlideRight", Boolean.class);
             Boolean affectedByResistance = blockObj.getProperties().get("abr", Boolean.class);
@@ -127,6 +144,7 @@ public class LevelScreen extends ScreenAdapter implements MessageListener {
                 }
                 block.addComponent(trajectoryComponent);
                 BodyComponent bodyComponent = block.getComponent(BodyComponent.class);
+                bodyComponent.setBodyType(BodyType.KINEMATIC);
                 Fixture leftWallSlide = new Fixture(block, WALL_SLIDE_SENSOR);
                 leftWallSlide.setSize(PPM / 2f, bodyComponent.getCollisionBox().height - PPM / 3f);
                 leftWallSlide.setOffset(-bodyComponent.getCollisionBox().width / 2f, 0f);
@@ -135,10 +153,6 @@ public class LevelScreen extends ScreenAdapter implements MessageListener {
                 rightWallSlide.setSize(PPM / 2f, bodyComponent.getCollisionBox().height - PPM / 3f);
                 rightWallSlide.setOffset(bodyComponent.getCollisionBox().width / 2f, 0f);
                 bodyComponent.addFixture(rightWallSlide);
-                Fixture feetSticker = new Fixture(block, FEET_STICKER);
-                feetSticker.setSize(bodyComponent.getCollisionBox().width, PPM / 3f);
-                feetSticker.setOffset(0f, (bodyComponent.getCollisionBox().height / 2f) - 2f);
-                bodyComponent.addFixture(feetSticker);
             }
         });
         // define wall slide sensors
@@ -153,12 +167,17 @@ public class LevelScreen extends ScreenAdapter implements MessageListener {
                 gameRooms.put(gameRoomObj.getRectangle(), gameRoomObj.getName()));
         levelCameraManager = new LevelCameraManager(gameContext.getViewport(PLAYGROUND).getCamera(),
                 new Timer(1f), gameRooms, megaman);
+        gameContext.getSystem(WorldSystem.class).getRoomPartition().setRooms(gameRooms.keySet());
         // spawn Megaman
         spawnMegaman();
         // health bar ui
         TextureRegion healthBit = gameContext.getAsset(BITS_ATLAS, TextureAtlas.class).findRegion("HealthBit");
         healthBar = new BitsBarUi(gameContext, () -> megaman.getComponent(HealthComponent.class).getCurrentHealth(),
                 () -> healthBit, new Vector2(8f, 2f), new Rectangle(0f, 0f, 8f, 60f));
+        // system profiler overlay
+        systemProfilerOverlay = new SystemProfilerOverlay(gameContext.getSystemProfiler(),
+                gameContext.getSystem(WorldSystem.class).getTelemetry(), gameContext.getViewport(UI).getCamera(),
+                new Vector2(-VIEW_WIDTH * PPM / 2f + 2f, VIEW_HEIGHT * PPM / 2f - 2f));
     }
 
     private void spawnMegaman() {
@@ -190,14 +209,35 @@ public class LevelScreen extends ScreenAdapter implements MessageListener {
                 UtilMethods.rectToBBox(cull.getCullBoundingBox()));
     }
 
+    private void updateSystemProfiler() {
+        SystemProfiler systemProfiler = gameContext.getSystemProfiler();
+        if (Gdx.input.isKeyJustPressed(Keys.F3)) {
+            systemProfiler.setEnabled(!systemProfiler.isEnabled());
+            systemProfiler.clear();
+        }
+        if (Gdx.input.isKeyJustPressed(Keys.F4) && systemProfiler.isEnabled()) {
+            try (Writer writer = Gdx.files.local(SYSTEM_PROFILE_CSV).writer(false)) {
+                systemProfiler.writeCsv(writer);
+            } catch (IOException e) {
+                Gdx.app.error(getClass().getSimpleName(), "Failed to write " + SYSTEM_PROFILE_CSV, e);
+            }
+        }
+        systemProfilerOverlay.draw(gameContext.getSpriteBatch());
+    }
+
     private void onGameRunning(float delta) {
         levelTiledMap.draw();
         levelCameraManager.update(delta);
+        gameContext.getSystem(WorldSystem.class).getRoomPartition()
+                .setActiveRoom(levelCameraManager.getCurrentGameRoom());
         gameContext.updateSystems(delta);
         healthBar.draw();
-        gameContext.getEntities()
-                .stream().filter(entity -> entity instanceof CullOnOutOfCamBounds cull && cullableOutOfBounds(cull))
-                .forEach(entity -> entity.setDead(true));
+        updateSystemProfiler();
+        cullOnOutOfCamBoundsQuery.forEach(cull -> {
+            if (cullableOutOfBounds(cull)) {
+                ((IEntity) cull).setDead(true);
+            }
+        });
         if (!deathTimer.isFinished()) {
             deathTimer.update(delta);
         }
@@ -216,11 +256,7 @@ public class LevelScreen extends ScreenAdapter implements MessageListener {
                     gameContext.getSystem(UpdatableSystem.class).setOn(false);
                 }
                 case CONTINUE -> {
-                    gameContext.getEntities().forEach(entity -> {
-                        if (entity instanceof CullOnLevelCamTrans) {
-                            entity.setDead(true);
-                        }
-                    });
+                    cullOnLevelCamTransQuery.forEach(cull -> ((IEntity) cull).setDead(true));
                     Direction direction = levelCameraManager.getTransitionDirection();
                     switch (direction) {
                         case DIR_UP -> bodyComponent.getCollisionBox().y +=
@@ -261,6 +297,8 @@ public class LevelScreen extends ScreenAdapter implements MessageListener {
         music = null;
         levelTiledMap.dispose();
         levelTiledMap = null;
+        systemProfilerOverlay.dispose();
+        systemProfilerOverlay = null;
         gameContext.purgeAllEntities();
     }
 
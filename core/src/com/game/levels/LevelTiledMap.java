@@ -3,18 +3,25 @@ package com.game.levels;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.MapProperties;
 import com.badlogic.gdx.maps.objects.RectangleMapObject;
 import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.maps.tiled.TmxMapLoader;
 import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
 import com.badlogic.gdx.maps.tiled.tiles.AnimatedTiledMapTile;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.utils.Disposable;
 import com.game.GameContext2d;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
 
 import static com.game.ConstVals.RenderingGround.PLAYGROUND;
 
@@ -23,6 +30,8 @@ import static com.game.ConstVals.RenderingGround.PLAYGROUND;
  */
 public class LevelTiledMap implements Disposable {
 
+    private static final Set<String> GEOMETRY_PROPERTIES = Set.of("id", "x", "y", "width", "height", "rotation");
+
     private final Map<String, List<RectangleMapObject>> objects = new HashMap<>();
     private final OrthogonalTiledMapRenderer tiledMapRenderer;
     private final TiledMap tiledMap;
@@ -82,14 +91,112 @@ public class LevelTiledMap implements Disposable {
         return objects.get(layer);
     }
 
+    /**
+     * Returns the objects of the layer with adjacent rectangles merged into larger rectangles, e.g. so that a row of
+     * block tiles becomes one block. Two rectangles are only merged if both are mergeable, their names and their
+     * properties other than their geometry are equal, and they share a full edge. Rectangles are first merged into
+     * horizontal strips and then strips of equal width are merged vertically, which is repeated until nothing more
+     * can be merged. Objects that are not mergeable are returned unchanged. Merged objects are new objects, the
+     * objects of the layer are not modified.
+     *
+     * @param layer     the layer
+     * @param mergeable the predicate that returns if an object may be merged
+     * @return the merged objects of layer
+     */
+    public List<RectangleMapObject> getMergedObjectsOfLayer(String layer,
+                                                          Predicate<RectangleMapObject> mergeable) {
+        return mergeObjects(getObjectsOfLayer(layer), mergeable);
+    }
+
+    /**
+     * See {@link #getMergedObjectsOfLayer(String, Predicate)}.
+     *
+     * @param objects   the objects
+     * @param mergeable the predicate that returns if an object may be merged
+     * @return the merged objects
+     */
+    static List<RectangleMapObject> mergeObjects(List<RectangleMapObject> objects,
+                                                 Predicate<RectangleMapObject> mergeable) {
+        List<RectangleMapObject> mergedObjects = new ArrayList<>();
+        Map<MergeKey, List<RectangleMapObject>> groups = new LinkedHashMap<>();
+        for (RectangleMapObject object : objects) {
+            if (!mergeable.test(object)) {
+                mergedObjects.add(object);
+                continue;
+            }
+            Map<String, Object> nonGeometryProperties = new HashMap<>();
+            MapProperties properties = object.getProperties();
+            properties.getKeys().forEachRemaining(property -> {
+                if (!GEOMETRY_PROPERTIES.contains(property)) {
+                    nonGeometryProperties.put(property, properties.get(property));
+                }
+            });
+            MergeKey key = new MergeKey(object.getName(), nonGeometryProperties);
+            RectangleMapObject copy = new RectangleMapObject();
+            copy.setName(object.getName());
+            copy.getProperties().putAll(properties);
+            copy.getRectangle().set(object.getRectangle());
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(copy);
+        }
+        for (List<RectangleMapObject> group : groups.values()) {
+            boolean merged;
+            do {
+                merged = mergeGroup(group, true);
+                merged |= mergeGroup(group, false);
+            } while (merged);
+            for (RectangleMapObject object : group) {
+                Rectangle rect = object.getRectangle();
+                MapProperties properties = object.getProperties();
+                properties.put("x", rect.x);
+                properties.put("y", rect.y);
+                properties.put("width", rect.width);
+                properties.put("height", rect.height);
+            }
+            mergedObjects.addAll(group);
+        }
+        return mergedObjects;
+    }
+
     public void draw() {
         tiledMapRenderer.render();
     }
 
+    private static boolean mergeGroup(List<RectangleMapObject> group, boolean horizontal) {
+        boolean merged = false;
+        for (int i = 0; i < group.size(); i++) {
+            Rectangle rect = group.get(i).getRectangle();
+            Iterator<RectangleMapObject> iterator = group.listIterator(i + 1);
+            while (iterator.hasNext()) {
+                Rectangle other = iterator.next().getRectangle();
+                if (horizontal ? isHorizontallyAdjacent(rect, other) : isVerticallyAdjacent(rect, other)) {
+                    rect.merge(other);
+                    iterator.remove();
+                    merged = true;
+                    // the merged rectangle may now be adjacent to rectangles already passed over
+                    iterator = group.listIterator(i + 1);
+                }
+            }
+        }
+        return merged;
+    }
+
+    private static boolean isHorizontallyAdjacent(Rectangle rect, Rectangle other) {
+        return MathUtils.isEqual(rect.y, other.y) && MathUtils.isEqual(rect.height, other.height) &&
+                (MathUtils.isEqual(rect.x + rect.width, other.x) || MathUtils.isEqual(other.x + other.width, rect.x));
+    }
+
+    private static boolean isVerticallyAdjacent(Rectangle rect, Rectangle other) {
+        return MathUtils.isEqual(rect.x, other.x) && MathUtils.isEqual(rect.width, other.width) &&
+                (MathUtils.isEqual(rect.y + rect.height, other.y) || MathUtils.isEqual(other.y + other.height, rect.y));
+    }
+
     @Override
     public void dispose() {
         tiledMap.dispose();
         tiledMapRenderer.dispose();
     }
 
+    private record MergeKey(String name, Map<String, Object> properties) {
+    }
+
 }
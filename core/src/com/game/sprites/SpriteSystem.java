@@ -7,6 +7,9 @@ import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
+import com.game.Archetype;
+import com.game.ArchetypeSystem;
+import com.game.ComponentType;
 import com.game.System;
 import com.game.core.IEntity;
 import com.game.utils.enums.Position;
@@ -19,8 +22,9 @@ import static com.game.utils.UtilMethods.*;
 /**
  * {@link System} implementation for rendering and optionally animating {@link Sprite} instances.
  */
-public class SpriteSystem extends System {
+public class SpriteSystem extends ArchetypeSystem {
 
+    private final int spriteIndex = ComponentType.getIndex(SpriteComponent.class);
     private final OrthographicCamera camera;
     private final SpriteBatch spriteBatch;
 
@@ -28,6 +32,9 @@ public class SpriteSystem extends System {
 
     public SpriteSystem(OrthographicCamera camera, SpriteBatch spriteBatch) {
         super(Set.of(SpriteComponent.class));
+        // access is not declared since sprite adapters may read any state of their entity, so this System is always
+        // run alone, and drawing must happen on the GL thread
+        setMainThreadOnly(true);
         this.camera = camera;
         this.spriteBatch = spriteBatch;
     }
@@ -43,7 +50,21 @@ public class SpriteSystem extends System {
 
     @Override
     protected void processEntity(IEntity entity, float delta) {
-        SpriteComponent spriteComponent = entity.getComponent(SpriteComponent.class);
+        draw(entity.getComponent(SpriteComponent.class));
+    }
+
+    @Override
+    protected void processArchetype(Archetype archetype, float delta) {
+        IEntity[] entities = archetype.getEntities();
+        SpriteComponent[] spriteComponents = archetype.getColumn(spriteIndex);
+        for (int i = 0; i < archetype.getSize(); i++) {
+            if (!entities[i].isDead()) {
+                draw(spriteComponents[i]);
+            }
+        }
+    }
+
+    private void draw(SpriteComponent spriteComponent) {
         Sprite sprite = spriteComponent.getSprite();
         SpriteAdapter spriteAdapter = spriteComponent.getSpriteAdapter();
         if (spriteAdapter != null) {
@@ -6,118 +6,111 @@ import com.game.entities.contracts.Damageable;
 import com.game.entities.contracts.Damager;
 import com.game.entities.contracts.Hitter;
 import com.game.health.HealthComponent;
-import com.game.tests.entities.TestBlock;
 import com.game.tests.entities.TestPlayer;
 import com.game.world.BodyComponent;
 import com.game.world.Contact;
-import com.game.world.WorldContactListener;
+import com.game.world.ContactDispatcher;
 
 import static com.game.world.BodySense.*;
 import static com.game.world.FixtureType.*;
 
-public class TestWorldContactListener implements WorldContactListener {
+public class TestWorldContactListener extends ContactDispatcher {
 
-    @Override
-    public void beginContact(Contact contact, float delta) {
-        if (contact.acceptMask(DAMAGEABLE_BOX, DEATH)) {
-            contact.mask1stEntity().getComponent(HealthComponent.class).setHealth(0);
-        } else if (contact.acceptMask(LEFT, BLOCK)) {
-            contact.mask1stBody().setIs(TOUCHING_BLOCK_LEFT);
-        } else if (contact.acceptMask(RIGHT, BLOCK)) {
-            contact.mask1stBody().setIs(TOUCHING_BLOCK_RIGHT);
-        } else if (contact.acceptMask(LEFT, WALL_SLIDE_SENSOR)) {
-            contact.mask1stBody().setIs(TOUCHING_WALL_SLIDE_LEFT);
-        } else if (contact.acceptMask(RIGHT, WALL_SLIDE_SENSOR)) {
-            contact.mask1stBody().setIs(TOUCHING_WALL_SLIDE_RIGHT);
-        } else if (contact.acceptMask(LEFT, DAMAGEABLE_BOX) &&
-                !contact.mask1stEntity().equals(contact.mask2ndEntity())) {
-            contact.mask1stBody().setIs(TOUCHING_HITBOX_LEFT);
-        } else if (contact.acceptMask(RIGHT, DAMAGEABLE_BOX) &&
-                !contact.mask1stEntity().equals(contact.mask2ndEntity())) {
-            contact.mask1stBody().setIs(TOUCHING_HITBOX_RIGHT);
-        } else if (contact.acceptMask(FEET, BLOCK)) {
+    public TestWorldContactListener() {
+        // begin
+        onBegin(DAMAGEABLE_BOX, DEATH, (contact, delta) ->
+                contact.mask1stEntity().getComponent(HealthComponent.class).setHealth(0));
+        onBegin(LEFT, BLOCK, (contact, delta) -> contact.mask1stBody().setIs(TOUCHING_BLOCK_LEFT));
+        onBegin(RIGHT, BLOCK, (contact, delta) -> contact.mask1stBody().setIs(TOUCHING_BLOCK_RIGHT));
+        onBegin(LEFT, WALL_SLIDE_SENSOR, (contact, delta) -> contact.mask1stBody().setIs(TOUCHING_WALL_SLIDE_LEFT));
+        onBegin(RIGHT, WALL_SLIDE_SENSOR, (contact, delta) -> contact.mask1stBody().setIs(TOUCHING_WALL_SLIDE_RIGHT));
+        onBegin(LEFT, DAMAGEABLE_BOX, (contact, delta) -> {
+            if (!contact.mask1stEntity().equals(contact.mask2ndEntity())) {
+                contact.mask1stBody().setIs(TOUCHING_HITBOX_LEFT);
+            }
+        });
+        onBegin(RIGHT, DAMAGEABLE_BOX, (contact, delta) -> {
+            if (!contact.mask1stEntity().equals(contact.mask2ndEntity())) {
+                contact.mask1stBody().setIs(TOUCHING_HITBOX_RIGHT);
+            }
+        });
+        onBegin(FEET, BLOCK, (contact, delta) -> {
             IEntity entity = contact.mask1stEntity();
             entity.getComponent(BodyComponent.class).setIs(FEET_ON_GROUND);
             if (entity instanceof TestPlayer testPlayer) {
                 testPlayer.setAButtonTask(TestPlayer.AButtonTask.JUMP);
                 Gdx.audio.newSound(Gdx.files.internal("sounds/MegamanLand.mp3")).play();
             }
-        } else if (contact.acceptMask(HEAD, BLOCK)) {
-            contact.mask1stBody().setIs(HEAD_TOUCHING_BLOCK);
-        } else if (contact.acceptMask(DAMAGER_BOX, DAMAGEABLE_BOX) &&
-                contact.mask1stEntity() instanceof Damager damager &&
-                contact.mask2ndEntity() instanceof Damageable damageable &&
-                damageable.canBeDamagedBy(damager) && damager.canDamage(damageable)) {
-            damageable.takeDamageFrom(damager);
-            damager.onDamageInflictedTo(damageable.getClass());
-        } else if (contact.acceptMask(HITTER_BOX) && contact.mask1stEntity() instanceof Hitter hitter) {
-            hitter.hit(contact.getMask().getSecond());
-        }
-    }
-
-    @Override
-    public void continueContact(Contact contact, float delta) {
-        if (contact.acceptMask(LEFT, BLOCK)) {
-            contact.mask1stBody().setIs(TOUCHING_BLOCK_LEFT);
-        } else if (contact.acceptMask(RIGHT, BLOCK)) {
-            contact.mask1stBody().setIs(TOUCHING_BLOCK_RIGHT);
-        } else if (contact.acceptMask(LEFT, WALL_SLIDE_SENSOR)) {
-            contact.mask1stBody().setIs(TOUCHING_WALL_SLIDE_LEFT);
-        } else if (contact.acceptMask(RIGHT, WALL_SLIDE_SENSOR)) {
-            contact.mask1stBody().setIs(TOUCHING_WALL_SLIDE_RIGHT);
-        } else if (contact.acceptMask(LEFT, DAMAGEABLE_BOX) &&
-                !contact.mask1stEntity().equals(contact.mask2ndEntity())) {
-            contact.mask1stBody().setIs(TOUCHING_HITBOX_LEFT);
-        } else if (contact.acceptMask(RIGHT, DAMAGEABLE_BOX) &&
-                !contact.mask1stEntity().equals(contact.mask2ndEntity())) {
-            contact.mask1stBody().setIs(TOUCHING_HITBOX_RIGHT);
-        } else if (contact.acceptMask(FEET, BLOCK)) {
+        });
+        onBegin(HEAD, BLOCK, (contact, delta) -> contact.mask1stBody().setIs(HEAD_TOUCHING_BLOCK));
+        onBegin(DAMAGER_BOX, DAMAGEABLE_BOX, (contact, delta) -> damage(contact));
+        onBegin(HITTER_BOX, (contact, delta) -> hit(contact));
+        // continue
+        onContinue(LEFT, BLOCK, (contact, delta) -> contact.mask1stBody().setIs(TOUCHING_BLOCK_LEFT));
+        onContinue(RIGHT, BLOCK, (contact, delta) -> contact.mask1stBody().setIs(TOUCHING_BLOCK_RIGHT));
+        onContinue(LEFT, WALL_SLIDE_SENSOR, (contact, delta) ->
+                contact.mask1stBody().setIs(TOUCHING_WALL_SLIDE_LEFT));
+        onContinue(RIGHT, WALL_SLIDE_SENSOR, (contact, delta) ->
+                contact.mask1stBody().setIs(TOUCHING_WALL_SLIDE_RIGHT));
+        onContinue(LEFT, DAMAGEABLE_BOX, (contact, delta) -> {
+            if (!contact.mask1stEntity().equals(contact.mask2ndEntity())) {
+                contact.mask1stBody().setIs(TOUCHING_HITBOX_LEFT);
+            }
+        });
+        onContinue(RIGHT, DAMAGEABLE_BOX, (contact, delta) -> {
+            if (!contact.mask1stEntity().equals(contact.mask2ndEntity())) {
+                contact.mask1stBody().setIs(TOUCHING_HITBOX_RIGHT);
+            }
+        });
+        onContinue(FEET, BLOCK, (contact, delta) -> {
             IEntity entity = contact.mask1stEntity();
             entity.getComponent(BodyComponent.class).setIs(FEET_ON_GROUND);
             if (entity instanceof TestPlayer testPlayer) {
                 testPlayer.setAButtonTask(TestPlayer.AButtonTask.JUMP);
             }
-        } else if (contact.acceptMask(FEET, FEET_STICKER) && contact.mask1stEntity() instanceof TestPlayer &&
-                contact.mask2ndEntity() instanceof TestBlock) {
-            contact.mask1stBody().translate(contact.mask2ndBody().getPosDelta());
-        } else if (contact.acceptMask(HEAD, BLOCK)) {
-            contact.mask1stEntity().getComponent(BodyComponent.class).setIs(HEAD_TOUCHING_BLOCK);
-        } else if (contact.acceptMask(DAMAGER_BOX, DAMAGEABLE_BOX) &&
-                contact.mask1stEntity() instanceof Damager damager &&
+        });
+        onContinue(HEAD, BLOCK, (contact, delta) ->
+                contact.mask1stEntity().getComponent(BodyComponent.class).setIs(HEAD_TOUCHING_BLOCK));
+        onContinue(DAMAGER_BOX, DAMAGEABLE_BOX, (contact, delta) -> damage(contact));
+        onContinue(HITTER_BOX, (contact, delta) -> hit(contact));
+        // end
+        onEnd(LEFT, BLOCK, (contact, delta) -> contact.mask1stBody().setIsNot(TOUCHING_BLOCK_LEFT));
+        onEnd(RIGHT, BLOCK, (contact, delta) -> contact.mask1stBody().setIsNot(TOUCHING_BLOCK_RIGHT));
+        onEnd(LEFT, WALL_SLIDE_SENSOR, (contact, delta) -> contact.mask1stBody().setIsNot(TOUCHING_WALL_SLIDE_LEFT));
+        onEnd(RIGHT, WALL_SLIDE_SENSOR, (contact, delta) ->
+                contact.mask1stBody().setIsNot(TOUCHING_WALL_SLIDE_RIGHT));
+        onEnd(LEFT, DAMAGEABLE_BOX, (contact, delta) -> {
+            if (!contact.mask1stEntity().equals(contact.mask2ndEntity())) {
+                contact.mask1stBody().setIsNot(TOUCHING_HITBOX_LEFT);
+            }
+        });
+        onEnd(RIGHT, DAMAGEABLE_BOX, (contact, delta) -> {
+            if (!contact.mask1stEntity().equals(contact.mask2ndEntity())) {
+                contact.mask1stBody().setIsNot(TOUCHING_HITBOX_RIGHT);
+            }
+        });
+        onEnd(FEET, BLOCK, (contact, delta) -> {
+            contact.mask1stBody().setIsNot(FEET_ON_GROUND);
+            if (contact.mask1stEntity() instanceof TestPlayer testPlayer) {
+                testPlayer.setAButtonTask(TestPlayer.AButtonTask.AIR_DASH);
+            }
+        });
+        onEnd(HEAD, BLOCK, (contact, delta) -> contact.mask1stBody().setIsNot(HEAD_TOUCHING_BLOCK));
+    }
+
+    private static void damage(Contact contact) {
+        if (contact.mask1stEntity() instanceof Damager damager &&
                 contact.mask2ndEntity() instanceof Damageable damageable &&
                 damageable.canBeDamagedBy(damager) && damager.canDamage(damageable)) {
             damageable.takeDamageFrom(damager);
             damager.onDamageInflictedTo(damageable.getClass());
-        } else if (contact.acceptMask(HITTER_BOX) && contact.mask1stEntity() instanceof Hitter hitter) {
-            hitter.hit(contact.getMask().getSecond());
         }
     }
 
-    @Override
-    public void endContact(Contact contact, float delta) {
-        if (contact.acceptMask(LEFT, BLOCK)) {
-            contact.mask1stBody().setIsNot(TOUCHING_BLOCK_LEFT);
-        } else if (contact.acceptMask(RIGHT, BLOCK)) {
-            contact.mask1stBody().setIsNot(TOUCHING_BLOCK_RIGHT);
-        } else if (contact.acceptMask(LEFT, WALL_SLIDE_SENSOR)) {
-            contact.mask1stBody().setIsNot(TOUCHING_WALL_SLIDE_LEFT);
-        } else if (contact.acceptMask(RIGHT, WALL_SLIDE_SENSOR)) {
-            contact.mask1stBody().setIsNot(TOUCHING_WALL_SLIDE_RIGHT);
-        } else if (contact.acceptMask(LEFT, DAMAGEABLE_BOX) &&
-                !contact.mask1stEntity().equals(contact.mask2ndEntity())) {
-            contact.mask1stBody().setIsNot(TOUCHING_HITBOX_LEFT);
-        } else if (contact.acceptMask(RIGHT, DAMAGEABLE_BOX) &&
-                !contact.mask1stEntity().equals(contact.mask2ndEntity())) {
-            contact.mask1stBody().setIsNot(TOUCHING_HITBOX_RIGHT);
-        } else if (contact.acceptMask(FEET, BLOCK)) {
-            contact.mask1stBody().setIsNot(FEET_ON_GROUND);
-            if (contact.mask1stEntity() instanceof TestPlayer testPlayer) {
-                testPlayer.setAButtonTask(TestPlayer.AButtonTask.AIR_DASH);
-            }
-        } else if (contact.acceptMask(HEAD, BLOCK)) {
-            contact.mask1stBody().setIsNot(HEAD_TOUCHING_BLOCK);
+    private static void hit(Contact contact) {
+        if (contact.mask1stEntity() instanceof Hitter hitter) {
+            hitter.hit(contact.mask2ndFixture());
         }
     }
 
 }
-
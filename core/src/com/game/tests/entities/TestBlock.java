@@ -2,40 +2,33 @@ package com.game.tests.entities;
 
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
-import com.game.Component;
-import com.game.core.IEntity;
+import com.game.Entity;
 import com.game.world.BodyComponent;
 import com.game.world.BodyType;
 import com.game.world.Fixture;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import static com.game.ConstVals.ViewVals.PPM;
 import static com.game.world.FixtureType.*;
 
 @Getter
 @Setter
-public class TestBlock implements IEntity {
-
-    private final Map<Class<? extends Component>, Component> components = new HashMap<>();
-    private boolean dead;
+public class TestBlock extends Entity {
 
     public TestBlock(Rectangle bounds, Vector2 friction) {
         this(bounds, friction, false, false, false, false, false);
     }
 
     public TestBlock(Rectangle bounds, Vector2 friction, boolean resistance, boolean gravityOn, boolean wallSlideLeft,
-                     boolean wallSlideRight, boolean feetSticky) {
+                     boolean wallSlideRight, boolean kinematic) {
         addComponent(defineBodyComponent(bounds, friction, resistance, gravityOn, wallSlideLeft,
-                wallSlideRight, feetSticky));
+                wallSlideRight, kinematic));
     }
 
     private BodyComponent defineBodyComponent(Rectangle bounds, Vector2 friction, boolean resistance, boolean gravityOn,
-                                              boolean wallSlideLeft, boolean wallSlideRight, boolean feetSticky) {
-        BodyComponent bodyComponent = new BodyComponent(BodyType.STATIC);
+                                              boolean wallSlideLeft, boolean wallSlideRight, boolean kinematic) {
+        BodyComponent bodyComponent = new BodyComponent(kinematic ? BodyType.KINEMATIC : BodyType.STATIC);
         bodyComponent.set(bounds);
         bodyComponent.setFriction(friction);
         bodyComponent.setGravityOn(gravityOn);
@@ -55,12 +48,6 @@ public class TestBlock implements IEntity {
             rightWallSlide.setOffset(bodyComponent.getCollisionBox().width / 2f, 0f);
             bodyComponent.addFixture(rightWallSlide);
         }
-        if (feetSticky) {
-            Fixture feetSticker = new Fixture(this, FEET_STICKER);
-            feetSticker.setSize(bodyComponent.getCollisionBox().width, PPM / 3f);
-            feetSticker.setOffset(0f, (bodyComponent.getCollisionBox().height / 2f) - 2f);
-            bodyComponent.addFixture(feetSticker);
-        }
         return bodyComponent;
     }
 
@@ -3,8 +3,7 @@ package com.game.tests.entities;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.math.Rectangle;
-import com.game.Component;
-import com.game.core.IEntity;
+import com.game.Entity;
 import com.game.debugging.DebugComponent;
 import com.game.entities.contracts.Damageable;
 import com.game.entities.contracts.Damager;
@@ -20,9 +19,7 @@ import com.game.world.Fixture;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
 
 import static com.game.world.FixtureType.DAMAGER_BOX;
@@ -30,15 +27,13 @@ import static com.game.world.FixtureType.DAMAGEABLE_BOX;
 
 @Getter
 @Setter
-public class TestDamager implements IEntity, Damager, Damageable, CullOnOutOfCamBounds, CullOnLevelCamTrans {
+public class TestDamager extends Entity implements Damager, Damageable, CullOnOutOfCamBounds, CullOnLevelCamTrans {
 
-    private final Map<Class<? extends Component>, Component> components = new HashMap<>();
     private final Set<Class<? extends Damager>> damagerMaskSet = new HashSet<>() {{
         add(TestBullet.class);
     }};
     private final Timer damageTimer = new Timer(.5f);
     private final Timer cullTimer = new Timer(.5f);
-    private boolean dead;
 
     public TestDamager(Rectangle bounds) {
         damageTimer.setToEnd();
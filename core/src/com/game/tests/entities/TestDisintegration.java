@@ -3,32 +3,23 @@ package com.game.tests.entities;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.math.Vector2;
-import com.game.Component;
+import com.game.Entity;
 import com.game.animations.AnimationComponent;
 import com.game.animations.TimedAnimation;
 import com.game.core.IAssetLoader;
-import com.game.core.IEntity;
 import com.game.sprites.SpriteComponent;
 import com.game.updatables.UpdatableComponent;
 import com.game.world.BodyComponent;
 import com.game.world.BodyType;
 import lombok.Getter;
-import lombok.Setter;
-
-import java.util.HashMap;
-import java.util.Map;
 
 import static com.game.ConstVals.TextureAssets.DECORATIONS_TEXTURE_ATLAS;
 import static com.game.ConstVals.ViewVals.PPM;
 
 @Getter
-public class TestDisintegration implements IEntity {
-
-    private final Map<Class<? extends Component>, Component> components = new HashMap<>();
+public class TestDisintegration extends Entity {
 
     private TimedAnimation timedAnimation;
-    @Setter
-    private boolean dead;
 
     public TestDisintegration(IAssetLoader assetLoader, Vector2 center) {
         this(assetLoader, center, new Vector2(PPM, PPM));
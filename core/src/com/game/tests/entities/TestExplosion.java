@@ -3,29 +3,22 @@ package com.game.tests.entities;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.math.Vector2;
-import com.game.Component;
+import com.game.Entity;
 import com.game.animations.AnimationComponent;
 import com.game.animations.TimedAnimation;
 import com.game.core.IAssetLoader;
-import com.game.core.IEntity;
 import com.game.sprites.SpriteComponent;
 import com.game.updatables.UpdatableComponent;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import static com.game.ConstVals.TextureAssets.DECORATIONS_TEXTURE_ATLAS;
 import static com.game.ConstVals.ViewVals.PPM;
 
 @Getter
 @Setter
-public class TestExplosion implements IEntity {
-
-    private final Map<Class<? extends Component>, Component> components = new HashMap<>();
-    private boolean dead;
+public class TestExplosion extends Entity {
 
     @Getter(AccessLevel.NONE)
     @Setter(AccessLevel.NONE)
@@ -8,7 +8,7 @@ import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
-import com.game.Component;
+import com.game.Entity;
 import com.game.Message;
 import com.game.animations.AnimationComponent;
 import com.game.animations.TimedAnimation;
@@ -53,7 +53,7 @@ import static com.game.world.FixtureType.*;
 
 @Getter
 @Setter
-public class TestPlayer implements IEntity, Damageable, Faceable, CameraFocusable {
+public class TestPlayer extends Entity implements Damageable, Faceable, CameraFocusable {
 
     public enum AButtonTask {
         JUMP,
@@ -66,7 +66,6 @@ public class TestPlayer implements IEntity, Damageable, Faceable, CameraFocusabl
     private final IAssetLoader assetLoader;
     private final IMessageDispatcher messageDispatcher;
     private final IEntitiesAndSystemsManager entitiesAndSystemsManager;
-    private final Map<Class<? extends Component>, Component> components = new HashMap<>();
     private final Set<Class<? extends Damager>> damagerMaskSet = Set.of(
             TestDamager.class, TestBullet.class, TestMet.class, TestSniperJoe.class);
     private final Timer airDashTimer = new Timer(.25f);
@@ -79,7 +78,6 @@ public class TestPlayer implements IEntity, Damageable, Faceable, CameraFocusabl
     private final Timer damageRecoveryBlinkTimer = new Timer(.05f);
     private final Timer damageTimer = new Timer(.75f);
     private final Music music;
-    private boolean dead;
     private boolean isCharging;
     private boolean recoveryBlink;
     private Facing facing = F_RIGHT;
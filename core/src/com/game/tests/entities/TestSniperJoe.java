@@ -31,6 +31,7 @@ import com.game.world.BodyComponent;
 import com.game.world.BodyType;
 import com.game.world.Fixture;
 import com.game.world.FixtureType;
+import com.game.world.WorldSystem;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -59,6 +60,9 @@ public class TestSniperJoe extends Entity implements Faceable, Damager, Damageab
     private final Timer shootingTimer = new Timer(1.5f, new TimeMarkedRunnable(.15f, this::shoot),
             new TimeMarkedRunnable(.75f, this::shoot), new TimeMarkedRunnable(1.35f, this::shoot));
 
+    private final Vector2 eyes = new Vector2();
+    private final Vector2 playerCenter = new Vector2();
+
     private boolean isShielded = true;
     @Setter
     private Facing facing;
@@ -131,15 +135,21 @@ public class TestSniperJoe extends Entity implements Faceable, Damager, Damageab
             // facing
             setFacing(Math.round(playerSupplier.get().getComponent(BodyComponent.class).getPosition().x) <
                     Math.round(getComponent(BodyComponent.class).getPosition().x) ? Facing.F_LEFT : Facing.F_RIGHT);
-            // behavior timer
+            // behavior timer, the shield is only lowered to shoot while the player is in sight
             Timer behaviorTimer = isShielded ? shieldedTimer : shootingTimer;
             behaviorTimer.update(delta);
-            if (behaviorTimer.isFinished()) {
+            if (behaviorTimer.isFinished() && (!isShielded || playerIsInSight(playerSupplier.get()))) {
                 setShielded(!isShielded);
             }
         });
     }
 
+    private boolean playerIsInSight(TestPlayer player) {
+        getComponent(BodyComponent.class).getCollisionBox().getCenter(eyes);
+        player.getComponent(BodyComponent.class).getCollisionBox().getCenter(playerCenter);
+        return entitiesAndSystemsManager.getSystem(WorldSystem.class).hasLineOfSight(eyes, playerCenter);
+    }
+
     private SpriteComponent defineSpriteComponent() {
         Sprite sprite = new Sprite();
         sprite.setSize(1.25f * PPM, 1.25f * PPM);
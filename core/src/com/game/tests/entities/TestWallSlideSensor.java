@@ -1,25 +1,18 @@
 package com.game.tests.entities;
 
 import com.badlogic.gdx.math.Rectangle;
-import com.game.Component;
-import com.game.core.IEntity;
+import com.game.Entity;
 import com.game.world.BodyComponent;
 import com.game.world.BodyType;
 import com.game.world.Fixture;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import static com.game.world.FixtureType.WALL_SLIDE_SENSOR;
 
 @Getter
 @Setter
-public class TestWallSlideSensor implements IEntity {
-
-    private final Map<Class<? extends Component>, Component> components = new HashMap<>();
-    private boolean dead;
+public class TestWallSlideSensor extends Entity {
 
     public TestWallSlideSensor(Rectangle bounds) {
         addComponent(defineBodyComponent(bounds));
@@ -16,6 +16,7 @@ import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import com.game.ConstVals.WorldVals;
+import com.game.EntityQuery;
 import com.game.MessageListener;
 import com.game.animations.AnimationSystem;
 import com.game.behaviors.BehaviorComponent;
@@ -85,6 +86,8 @@ public class TestEnemiesScreen extends ScreenAdapter implements MessageListener
     private TestMessageDispatcher messageDispatcher;
     private TestEntitySpawnManager entitySpawnManager;
     private TestEntitiesAndSystemsManager entitiesAndSystemsManager;
+    private EntityQuery<CullOnOutOfCamBounds> cullOnOutOfCamBoundsQuery;
+    private EntityQuery<CullOnLevelCamTrans> cullOnLevelCamTransQuery;
     private ShapeRenderer shapeRenderer;
     private TestAssetLoader assetLoader;
     private SpriteBatch spriteBatch;
@@ -110,6 +113,8 @@ public class TestEnemiesScreen extends ScreenAdapter implements MessageListener
         messageDispatcher = new TestMessageDispatcher();
         messageDispatcher.addListener(this);
         entitiesAndSystemsManager = new TestEntitiesAndSystemsManager();
+        cullOnOutOfCamBoundsQuery = entitiesAndSystemsManager.getQuery(CullOnOutOfCamBounds.class);
+        cullOnLevelCamTransQuery = entitiesAndSystemsManager.getQuery(CullOnLevelCamTrans.class);
         spriteBatch = new SpriteBatch();
         shapeRenderer = new ShapeRenderer();
         uiViewport = new FitViewport(1920, 1080);
@@ -216,20 +221,16 @@ public class TestEnemiesScreen extends ScreenAdapter implements MessageListener
         }
         entitiesAndSystemsManager.updateSystems(delta);
         messageDispatcher.updateMessageDispatcher(delta);
-        entitiesAndSystemsManager.getEntities().stream()
-                .filter(entity -> entity instanceof CullOnOutOfCamBounds)
-                .map(entity -> (CullOnOutOfCamBounds) entity)
-                .forEach(cull -> {
-                    if (!playgroundViewport.getCamera().frustum.boundsInFrustum(
-                            rectToBBox(cull.getCullBoundingBox()))) {
-                        cull.getCullTimer().update(delta);
-                    } else if (deathTimer.isFinished()) {
-                        cull.getCullTimer().reset();
-                    }
-                    if (cull.getCullTimer().isFinished()) {
-                        ((IEntity) cull).setDead(true);
-                    }
-                });
+        cullOnOutOfCamBoundsQuery.forEach(cull -> {
+            if (!playgroundViewport.getCamera().frustum.boundsInFrustum(rectToBBox(cull.getCullBoundingBox()))) {
+                cull.getCullTimer().update(delta);
+            } else if (deathTimer.isFinished()) {
+                cull.getCullTimer().reset();
+            }
+            if (cull.getCullTimer().isFinished()) {
+                ((IEntity) cull).setDead(true);
+            }
+        });
         deathTimer.update(delta);
         if (deathTimer.isJustFinished()) {
             music.play();
@@ -238,13 +239,10 @@ public class TestEnemiesScreen extends ScreenAdapter implements MessageListener
             levelCameraManager.setFocusable(player);
             entitiesAndSystemsManager.addEntity(player);
             entitySpawnManager.reset();
-            entitiesAndSystemsManager.getEntities().forEach(entity -> {
-                if (entity instanceof CullOnLevelCamTrans || entity instanceof CullOnOutOfCamBounds) {
-                    entity.setDead(true);
-                    if (entity instanceof CullOnOutOfCamBounds cull) {
-                        cull.getCullTimer().setToEnd();
-                    }
-                }
+            cullOnLevelCamTransQuery.forEach(cull -> ((IEntity) cull).setDead(true));
+            cullOnOutOfCamBoundsQuery.forEach(cull -> {
+                ((IEntity) cull).setDead(true);
+                cull.getCullTimer().setToEnd();
             });
             blackTimer.reset();
         }
@@ -258,18 +256,10 @@ public class TestEnemiesScreen extends ScreenAdapter implements MessageListener
                     entitiesAndSystemsManager.getSystem(UpdatableSystem.class).setOn(false);
                     entitiesAndSystemsManager.getSystem(BehaviorSystem.class).setOn(false);
                     entitiesAndSystemsManager.getSystem(WorldSystem.class).setOn(false);
-                    entitiesAndSystemsManager.getEntities().forEach(entity -> {
-                        if (entity instanceof CullOnLevelCamTrans) {
-                            entity.setDead(true);
-                        }
-                    });
+                    cullOnLevelCamTransQuery.forEach(cull -> ((IEntity) cull).setDead(true));
                 }
                 case CONTINUE -> {
-                    entitiesAndSystemsManager.getEntities().forEach(entity -> {
-                        if (entity instanceof CullOnLevelCamTrans) {
-                            entity.setDead(true);
-                        }
-                    });
+                    cullOnLevelCamTransQuery.forEach(cull -> ((IEntity) cull).setDead(true));
                     Direction direction = levelCameraManager.getTransitionDirection();
                     switch (direction) {
                         case DIR_UP -> bodyComponent.getCollisionBox().y +=
@@ -8,10 +8,9 @@ import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
-import com.game.Component;
-import com.game.System;
+import com.game.EntitiesAndSystemsManager;
+import com.game.Entity;
 import com.game.core.IEntitiesAndSystemsManager;
-import com.game.core.IEntity;
 import com.game.debugging.DebugComponent;
 import com.game.debugging.DebugSystem;
 import com.game.trajectories.TrajectoryComponent;
@@ -22,8 +21,6 @@ import com.game.world.WorldSystem;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.util.*;
-
 import static com.game.ConstVals.ViewVals.*;
 
 public class TestTrajectoriesScreen extends ScreenAdapter {
@@ -55,10 +52,7 @@ public class TestTrajectoriesScreen extends ScreenAdapter {
 
     @Getter
     @Setter
-    static class TestTrajectoryEntity implements IEntity {
-
-        private final Map<Class<? extends Component>, Component> components = new HashMap<>();
-        private boolean dead;
+    static class TestTrajectoryEntity extends Entity {
 
         public TestTrajectoryEntity(Rectangle bounds) {
             addComponent(defineBodyComponent(bounds));
@@ -91,74 +85,4 @@ public class TestTrajectoriesScreen extends ScreenAdapter {
 
     }
 
-    static class EntitiesAndSystemsManager implements IEntitiesAndSystemsManager {
-
-        @Getter
-        private final Set<IEntity> entities = new HashSet<>();
-        private final Map<Class<? extends System>, System> systems = new LinkedHashMap<>();
-        private final Queue<IEntity> queuedEntities = new ArrayDeque<>();
-        private boolean updating;
-
-        @Override
-        public void addEntity(IEntity entity) {
-            if (updating) {
-                queuedEntities.add(entity);
-            } else {
-                entities.add(entity);
-            }
-        }
-
-        @Override
-        public void purgeAllEntities() {
-            entities.clear();
-            systems.values().forEach(System::purgeAllEntities);
-        }
-
-        @Override
-        public void addSystem(System system) {
-            systems.put(system.getClass(), system);
-        }
-
-        @Override
-        public <S extends System> S getSystem(Class<S> sClass) {
-            return sClass.cast(systems.get(sClass));
-        }
-
-        @Override
-        public Collection<System> getSystems() {
-            return systems.values();
-        }
-
-        @Override
-        public void updateSystems(float delta) {
-            updating = true;
-            while (!queuedEntities.isEmpty()) {
-                entities.add(queuedEntities.poll());
-            }
-            Iterator<IEntity> entityIterator = entities.iterator();
-            while (entityIterator.hasNext()) {
-                IEntity entity = entityIterator.next();
-                if (entity.isDead()) {
-                    systems.values().forEach(system -> {
-                        if (system.entityIsMember(entity)) {
-                            system.removeEntity(entity);
-                        }
-                    });
-                    entityIterator.remove();
-                } else {
-                    systems.values().forEach(system -> {
-                        if (!system.entityIsMember(entity) && system.qualifiesMembership(entity)) {
-                            system.addEntity(entity);
-                        } else if (system.entityIsMember(entity) && !system.qualifiesMembership(entity)) {
-                            system.removeEntity(entity);
-                        }
-                    });
-                }
-            }
-            systems.values().forEach(system -> system.update(delta));
-            updating = false;
-        }
-
-    }
-
 }
@@ -1,21 +1,41 @@
 package com.game.trajectories;
 
-import com.game.System;
+import com.game.Archetype;
+import com.game.ComponentType;
+import com.game.ParallelSystem;
 import com.game.core.IEntity;
 import com.game.world.BodyComponent;
 
 import java.util.Set;
 
-public class TrajectorySystem extends System {
+public class TrajectorySystem extends ParallelSystem {
+
+    private final int trajectoryIndex = ComponentType.getIndex(TrajectoryComponent.class);
+    private final int bodyIndex = ComponentType.getIndex(BodyComponent.class);
 
     public TrajectorySystem() {
         super(Set.of(TrajectoryComponent.class, BodyComponent.class));
+        declareAccess(getComponentMask(), getComponentMask());
     }
 
     @Override
     protected void processEntity(IEntity entity, float delta) {
-        TrajectoryComponent trajectoryComponent = entity.getComponent(TrajectoryComponent.class);
-        BodyComponent bodyComponent = entity.getComponent(BodyComponent.class);
+        move(entity.getComponent(TrajectoryComponent.class), entity.getComponent(BodyComponent.class), delta);
+    }
+
+    @Override
+    protected void processRows(Archetype archetype, int from, int to, float delta) {
+        IEntity[] entities = archetype.getEntities();
+        TrajectoryComponent[] trajectoryComponents = archetype.getColumn(trajectoryIndex);
+        BodyComponent[] bodyComponents = archetype.getColumn(bodyIndex);
+        for (int i = from; i < to; i++) {
+            if (!entities[i].isDead()) {
+                move(trajectoryComponents[i], bodyComponents[i], delta);
+            }
+        }
+    }
+
+    private void move(TrajectoryComponent trajectoryComponent, BodyComponent bodyComponent, float delta) {
         bodyComponent.setVelocity(trajectoryComponent.getCurrentTrajectory());
         trajectoryComponent.getCurrentTimer().update(delta);
         if (trajectoryComponent.getCurrentTimer().isFinished()) {
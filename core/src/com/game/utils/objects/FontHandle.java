@@ -7,18 +7,19 @@ import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
 import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator.FreeTypeFontParameter;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Disposable;
 import com.game.utils.interfaces.Drawable;
 import lombok.Getter;
 import lombok.Setter;
 
 @Getter
 @Setter
-public class FontHandle implements Drawable {
+public class FontHandle implements Drawable, Disposable {
 
     private final BitmapFont font;
     private final Vector2 position = new Vector2();
 
-    private String text = "";
+    private CharSequence text = "";
 
     public FontHandle(String ttfSrc, int fontSize) {
         this(ttfSrc, fontSize, new Vector2());
@@ -57,4 +58,9 @@ public class FontHandle implements Drawable {
         }
     }
 
+    @Override
+    public void dispose() {
+        font.dispose();
+    }
+
 }
\ No newline at end of file
@@ -5,21 +5,42 @@ import com.badlogic.gdx.math.Vector2;
 import com.game.Component;
 import com.game.updatables.Updatable;
 import com.game.utils.enums.Direction;
-import com.game.utils.UtilMethods;
+import com.game.utils.interfaces.Resettable;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.util.stream.Collectors.toList;
 
 /**
  * {@link Component} implementation for world bodies.
+ * <p>
+ * A body is sleeping while it has no velocity and no effective gravity, see {@link #isSleeping()}. Sleeping bodies are
+ * not integrated, and the fixtures of any body are only moved when the body or the fixture changed since the fixtures
+ * were last synced.
+ * <p>
+ * A body outside the active rooms of {@link WorldSystem#getRoomPartition()} is frozen unless it is stepped when
+ * distant, in which case it is simulated at a lower rate.
+ * <p>
+ * The parent of a {@link BodyType#DYNAMIC} body is the {@link BodyType#KINEMATIC} body it rests on, if any. It is
+ * resolved by {@link WorldSystem} each step, and the body is carried by the displacement of its parent as long as the
+ * parent is simulated in the same update, i.e. its entity is alive and it is still a member of the world.
+ * <p>
+ * Pooled entities should call {@link #reset()} when they are freed so that none of this state carries over.
+ * <p>
+ * Each body has a unique id that identifies it across steps, e.g. to keep the order of a {@link Broadphase}, while its
+ * index among the bodies of {@link WorldSystem} changes as bodies are added and removed.
  */
 @Getter
 @Setter
-public class BodyComponent implements Component {
+public class BodyComponent implements Component, Resettable {
 
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    private final int id = NEXT_ID.getAndIncrement();
     private final Vector2 friction = new Vector2();
     private final Vector2 velocity = new Vector2();
     private final Vector2 resistance = new Vector2(1f, 1f);
@@ -39,6 +60,39 @@ public class BodyComponent implements Component {
     private Updatable postProcess;
     private boolean gravityOn = true;
     private boolean affectedByResistance = true;
+    private boolean steppedWhenDistant;
+    @Setter(AccessLevel.NONE)
+    private BodyComponent parent;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private BodyComponent nextParent;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private float stepStartX;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private float stepStartY;
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    private int storeIndex = -1;
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    private int lastUpdate = -1;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private float syncedCenterX = Float.NaN;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private float syncedCenterY = Float.NaN;
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.NONE)
+    private int changeCount;
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    private int treeIndex = -1;
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    private boolean woken;
 
     /**
      * Instantiates a new Body Component.
@@ -56,7 +110,8 @@ public class BodyComponent implements Component {
      * @return if this body is above the other
      */
     public boolean isAbove(BodyComponent bodyComponent) {
-        return getCenter().y > bodyComponent.getCenter().y;
+        return collisionBox.y + collisionBox.height / 2f >
+                bodyComponent.collisionBox.y + bodyComponent.collisionBox.height / 2f;
     }
 
     /**
@@ -76,7 +131,8 @@ public class BodyComponent implements Component {
      * @return if this body is right of the other
      */
     public boolean isRightOf(BodyComponent bodyComponent) {
-        return getCenter().x > bodyComponent.getCenter().x;
+        return collisionBox.x + collisionBox.width / 2f >
+                bodyComponent.collisionBox.x + bodyComponent.collisionBox.width / 2f;
     }
 
     /**
@@ -105,6 +161,7 @@ public class BodyComponent implements Component {
      */
     public void set(Rectangle bounds) {
         collisionBox.set(bounds);
+        markChanged();
     }
 
     /**
@@ -117,6 +174,7 @@ public class BodyComponent implements Component {
      */
     public void set(float x, float y, float width, float height) {
         collisionBox.set(x, y, width, height);
+        markChanged();
     }
 
     /**
@@ -127,6 +185,7 @@ public class BodyComponent implements Component {
      */
     public void setSize(float width, float height) {
         collisionBox.setSize(width, height);
+        markChanged();
     }
 
     /**
@@ -136,6 +195,7 @@ public class BodyComponent implements Component {
      */
     public void setWidth(float width) {
         collisionBox.setWidth(width);
+        markChanged();
     }
 
     /**
@@ -145,6 +205,7 @@ public class BodyComponent implements Component {
      */
     public void setHeight(float height) {
         collisionBox.setHeight(height);
+        markChanged();
     }
 
     /**
@@ -166,6 +227,7 @@ public class BodyComponent implements Component {
      */
     public void setPosition(float x, float y) {
         collisionBox.setPosition(x, y);
+        markChanged();
     }
 
     /**
@@ -196,6 +258,7 @@ public class BodyComponent implements Component {
      */
     public void setCenter(float x, float y) {
         collisionBox.setCenter(x, y);
+        markChanged();
     }
 
     /**
@@ -236,6 +299,7 @@ public class BodyComponent implements Component {
     public void translate(float x, float y) {
         collisionBox.x += x;
         collisionBox.y += y;
+        markChanged();
     }
 
     /**
@@ -244,9 +308,8 @@ public class BodyComponent implements Component {
      * @return the pos delta
      */
     public Vector2 getPosDelta() {
-        Vector2 priorPos = UtilMethods.centerPoint(priorCollisionBox);
-        Vector2 currentPos = UtilMethods.centerPoint(collisionBox);
-        return currentPos.sub(priorPos);
+        return new Vector2(collisionBox.x - priorCollisionBox.x + (collisionBox.width - priorCollisionBox.width) / 2f,
+                collisionBox.y - priorCollisionBox.y + (collisionBox.height - priorCollisionBox.height) / 2f);
     }
 
     /**
@@ -407,6 +470,8 @@ public class BodyComponent implements Component {
      */
     public void addFixture(Fixture fixture) {
         fixtures.add(fixture);
+        fixture.setBody(this);
+        markChanged();
     }
 
     /**
@@ -429,6 +494,113 @@ public class BodyComponent implements Component {
         return fixtures.stream().filter(fixture -> fixture.getFixtureType().equals(fixtureType)).findFirst();
     }
 
+    /**
+     * Returns if the body has neither velocity nor effective gravity, so a step would not move it. The state is derived
+     * from the velocity and gravity each time, so it cannot go stale when the body is moved or its velocity is set.
+     *
+     * @return if the body is sleeping
+     */
+    public boolean isSleeping() {
+        return velocity.isZero() && (!gravityOn || gravity == 0f);
+    }
+
+    /**
+     * Marks the current position as the position at the start of the step.
+     */
+    void markStepStart() {
+        stepStartX = collisionBox.x;
+        stepStartY = collisionBox.y;
+    }
+
+    /**
+     * Returns the x displacement since {@link #markStepStart()}.
+     *
+     * @return the x displacement
+     */
+    float getStepDeltaX() {
+        return collisionBox.x - stepStartX;
+    }
+
+    /**
+     * Returns the y displacement since {@link #markStepStart()}.
+     *
+     * @return the y displacement
+     */
+    float getStepDeltaY() {
+        return collisionBox.y - stepStartY;
+    }
+
+    /**
+     * Sets the kinematic body this body has landed on during the current step.
+     *
+     * @param nextParent the kinematic body
+     */
+    void setNextParent(BodyComponent nextParent) {
+        this.nextParent = nextParent;
+    }
+
+    /**
+     * Clears the parent, e.g. when the parent is no longer simulated.
+     */
+    void clearParent() {
+        parent = null;
+        nextParent = null;
+    }
+
+    /**
+     * Makes the kinematic body this body landed on during the step its parent, or clears the parent if it landed on
+     * none.
+     */
+    void resolveParent() {
+        parent = nextParent;
+        nextParent = null;
+    }
+
+    /**
+     * Records that the bounds or fixtures of this body changed, see {@link StaticBodyTree#isUpToDate(BodyComponent)}.
+     */
+    void markChanged() {
+        changeCount++;
+    }
+
+    /**
+     * Moves each fixture to its offset from the center of the collision box. Fixtures are skipped if neither the
+     * center of the collision box nor the fixture changed since they were last synced.
+     */
+    void syncFixtures() {
+        float centerX = collisionBox.x + collisionBox.width / 2f;
+        float centerY = collisionBox.y + collisionBox.height / 2f;
+        boolean moved = centerX != syncedCenterX || centerY != syncedCenterY;
+        for (int i = 0; i < fixtures.size(); i++) {
+            Fixture fixture = fixtures.get(i);
+            if (moved || fixture.isDirty()) {
+                fixture.syncCenter(centerX + fixture.getOffset().x, centerY + fixture.getOffset().y);
+            }
+        }
+        syncedCenterX = centerX;
+        syncedCenterY = centerY;
+    }
+
+    /**
+     * Resets the state the body gathers while it is simulated: velocity, body senses, collision flags, parent, and
+     * whether it has been awake. The bounds, fixtures and configuration of the body, e.g. gravity and resistance, are
+     * kept.
+     */
+    @Override
+    public void reset() {
+        velocity.setZero();
+        bodySenses.clear();
+        collisionFlags.replaceAll((direction, flag) -> false);
+        parent = null;
+        nextParent = null;
+        stepStartX = collisionBox.x;
+        stepStartY = collisionBox.y;
+        syncedCenterX = Float.NaN;
+        syncedCenterY = Float.NaN;
+        woken = false;
+        priorCollisionBox.set(collisionBox);
+    }
+
     /**
      * Set prior collision box to current.
      */
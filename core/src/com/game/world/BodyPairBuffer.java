@@ -0,0 +1,76 @@
+package com.game.world;
+
+import java.util.Arrays;
+
+/**
+ * Growable buffer of pairs of body indices, each packed into a long with the lower index in the high 32 bits. Used by
+ * {@link Broadphase} implementations to report candidate pairs without allocating a pair object per pair. Once
+ * sorted, pairs are in the same order as the nested loop {@code for i, for j > i}.
+ */
+public class BodyPairBuffer {
+
+    private long[] pairs = new long[256];
+    private int size;
+
+    /**
+     * Adds the pair. The indices may be supplied in either order.
+     *
+     * @param i the first body index
+     * @param j the second body index
+     */
+    public void add(int i, int j) {
+        if (size == pairs.length) {
+            pairs = Arrays.copyOf(pairs, size * 2);
+        }
+        pairs[size++] = i < j ? ((long) i << 32) | j : ((long) j << 32) | i;
+    }
+
+    /**
+     * Adds the pair without reordering the indices, for pairs whose indices refer to two different body lists.
+     *
+     * @param i the first body index
+     * @param j the second body index
+     */
+    public void addOrdered(int i, int j) {
+        if (size == pairs.length) {
+            pairs = Arrays.copyOf(pairs, size * 2);
+        }
+        pairs[size++] = ((long) i << 32) | j;
+    }
+
+    /**
+     * Sorts the pairs by lower index and then by higher index.
+     */
+    public void sort() {
+        Arrays.sort(pairs, 0, size);
+    }
+
+    /**
+     * Returns the lower body index of the pair at the index.
+     *
+     * @param index the pair index
+     * @return the lower body index
+     */
+    public int first(int index) {
+        return (int) (pairs[index] >>> 32);
+    }
+
+    /**
+     * Returns the higher body index of the pair at the index.
+     *
+     * @param index the pair index
+     * @return the higher body index
+     */
+    public int second(int index) {
+        return (int) pairs[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+}
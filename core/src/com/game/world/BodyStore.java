@@ -0,0 +1,124 @@
+package com.game.world;
+
+import com.badlogic.gdx.math.Vector2;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Structure-of-arrays copy of the integration state of the awake bodies of one update. {@link WorldSystem} loads the
+ * velocity, resistance, and gravity of each body into primitive arrays once per update, and the arrays are the source
+ * of truth for velocity and resistance during every step of that update. Each step integrates all of them in one loop
+ * without branches on body state or pointer chasing, and the velocities and resistances are stored back to the bodies
+ * once after the last step. The loop only reads and writes consecutive array elements, which lets the JIT vectorize
+ * it.
+ * <p>
+ * Gravity and the minimum y velocity are loaded once since nothing changes them between the steps of an update. A body
+ * that is loaded knows its index in the store, see {@link BodyComponent#getStoreIndex()}.
+ * <p>
+ * Positions are not part of the store since the collision boxes are moved by the swept translation, the collision
+ * handling, and game code, all of which work on {@link BodyComponent#getCollisionBox()} directly.
+ */
+class BodyStore {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private float[] vx = new float[INITIAL_CAPACITY];
+    private float[] vy = new float[INITIAL_CAPACITY];
+    private float[] resistanceX = new float[INITIAL_CAPACITY];
+    private float[] resistanceY = new float[INITIAL_CAPACITY];
+    private float[] resisted = new float[INITIAL_CAPACITY];
+    private float[] gravity = new float[INITIAL_CAPACITY];
+    private float[] minVy = new float[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Loads the state of the bodies. A body that is not affected by resistance is loaded with a resistance factor of
+     * 0, and the gravity of a body with gravity off is loaded as 0, so that the integration needs no branches.
+     *
+     * @param bodies the bodies
+     */
+    void load(List<BodyComponent> bodies) {
+        size = bodies.size();
+        if (vx.length < size) {
+            int capacity = Math.max(size, vx.length * 2);
+            vx = Arrays.copyOf(vx, capacity);
+            vy = Arrays.copyOf(vy, capacity);
+            resistanceX = Arrays.copyOf(resistanceX, capacity);
+            resistanceY = Arrays.copyOf(resistanceY, capacity);
+            resisted = Arrays.copyOf(resisted, capacity);
+            gravity = Arrays.copyOf(gravity, capacity);
+            minVy = Arrays.copyOf(minVy, capacity);
+        }
+        for (int i = 0; i < size; i++) {
+            BodyComponent bodyComponent = bodies.get(i);
+            vx[i] = bodyComponent.getVelocity().x;
+            vy[i] = bodyComponent.getVelocity().y;
+            resistanceX[i] = bodyComponent.getResistance().x;
+            resistanceY[i] = bodyComponent.getResistance().y;
+            resisted[i] = bodyComponent.isAffectedByResistance() ? 1f : 0f;
+            boolean gravityOn = bodyComponent.isGravityOn();
+            gravity[i] = gravityOn ? bodyComponent.getGravity() : 0f;
+            // if colliding down, minimum gravity is -5f
+            minVy[i] = gravityOn && bodyComponent.is(BodySense.FEET_ON_GROUND) ? -5f : Float.NEGATIVE_INFINITY;
+            bodyComponent.setStoreIndex(i);
+        }
+    }
+
+    /**
+     * Stores the velocity and resistance of each loaded body back to the body. Must be called with the same bodies
+     * that were loaded.
+     *
+     * @param bodies the bodies
+     */
+    void store(List<BodyComponent> bodies) {
+        for (int i = 0; i < size; i++) {
+            BodyComponent bodyComponent = bodies.get(i);
+            bodyComponent.getVelocity().set(vx[i], vy[i]);
+            bodyComponent.setResistance(resistanceX[i], resistanceY[i]);
+            bodyComponent.setStoreIndex(-1);
+        }
+        size = 0;
+    }
+
+    /**
+     * Integrates the velocity of every loaded body over the time step: speeds below .25 are set to 0, resistance is
+     * applied, and then gravity is applied.
+     *
+     * @param timeStep the time step
+     */
+    void integrate(float timeStep) {
+        for (int i = 0; i < size; i++) {
+            float x = Math.abs(vx[i]) < .25f ? 0f : vx[i];
+            float y = Math.abs(vy[i]) < .25f ? 0f : vy[i];
+            x /= Math.max(1f, resistanceX[i] * resisted[i]);
+            y /= Math.max(1f, resistanceY[i] * resisted[i]);
+            y += gravity[i] * timeStep;
+            vx[i] = x;
+            vy[i] = Math.max(minVy[i], y);
+        }
+    }
+
+    /**
+     * Sets the resistance of every loaded body.
+     *
+     * @param resistance the resistance
+     */
+    void setResistance(Vector2 resistance) {
+        Arrays.fill(resistanceX, 0, size, resistance.x);
+        Arrays.fill(resistanceY, 0, size, resistance.y);
+    }
+
+    void applyResistanceX(int index, float x) {
+        resistanceX[index] += x;
+    }
+
+    float getVelocityX(int index) {
+        return vx[index];
+    }
+
+    float getVelocityY(int index) {
+        return vy[index];
+    }
+
+}
@@ -4,9 +4,11 @@ package com.game.world;
  * Defines the body type of {@link BodyComponent}.
  * <p>
  * STATIC: Are immovable, cannot be passed through by dynamic bodies.
- * DYNAMIC: Cannot pass through static bodies.
+ * DYNAMIC: Cannot pass through static or kinematic bodies.
  * ABSTRACT: Can pass through static and dynamic bodies.
+ * KINEMATIC: Are moved only by their velocity, e.g. moving platforms, cannot be passed through by dynamic bodies. A
+ * dynamic body resting on top of a kinematic body rides it and is carried by it each step.
  */
 public enum BodyType {
-    STATIC, DYNAMIC, ABSTRACT
+    STATIC, DYNAMIC, ABSTRACT, KINEMATIC
 }
@@ -0,0 +1,23 @@
+package com.game.world;
+
+import com.badlogic.gdx.math.Rectangle;
+
+/**
+ * Finds the candidate pairs of bodies that {@link WorldSystem} tests for collisions and contacts, so that not every
+ * pair of bodies needs to be tested. The bounds of a body contain its collision box and all of its fixture boxes.
+ */
+public interface Broadphase {
+
+    /**
+     * Adds every pair of indices whose bounds overlap or touch to the pair buffer, each pair once. Pairs whose bounds
+     * do not overlap may also be added, but no overlapping pair may be missed. The buffer is sorted afterwards.
+     *
+     * @param bounds the bounds of the bodies, only the first count elements are valid
+     * @param ids    the unique ids of the bodies, see {@link BodyComponent#getId()}, which identify a body across steps
+     *               even when its index changes; only the first count elements are valid
+     * @param count  the number of bodies
+     * @param pairs  the pair buffer to add pairs to
+     */
+    void findPairs(Rectangle[] bounds, int[] ids, int count, BodyPairBuffer pairs);
+
+}
@@ -3,9 +3,8 @@ package com.game.world;
 import com.badlogic.gdx.math.Intersector;
 import com.badlogic.gdx.math.Rectangle;
 import com.game.core.IEntity;
-import com.game.utils.objects.Pair;
+import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 
 /**
@@ -13,33 +12,77 @@ import lombok.ToString;
  * {@link Fixture#getFixtureBox()} of both the {@link Fixture} instances, returns true.
  * <p>
  * {@link #acceptMask(FixtureType, FixtureType)} returns if {@link Fixture#getFixtureType()} of the two fixtures
- * matches the supplied {@link FixtureType} values. If the method returns true, then {@link #mask} is set with the two
- * fixtures in the same order as the supplied FixtureType arguments. Otherwise, the mask pair remains null.
+ * matches the supplied {@link FixtureType} values. If the method returns true, then the mask is set with the two
+ * fixtures in the same order as the supplied FixtureType arguments. Otherwise, the mask remains null.
+ * <p>
+ * A contact is identified by {@link #getKey()}, which packs the {@link Fixture#getId()} of both fixtures into a long
+ * regardless of their order. {@link WorldSystem} pools contacts, so a contact must not be kept by a
+ * {@link WorldContactListener} after the callback it was passed to returns.
  */
 @Getter
 @ToString
-@RequiredArgsConstructor
 public class Contact {
 
-    private final Fixture fixture1;
-    private final Fixture fixture2;
-    private Pair<Fixture> mask;
+    private Fixture fixture1;
+    private Fixture fixture2;
+    private long key;
+    @Getter(AccessLevel.NONE)
+    private Fixture maskFirst;
+    @Getter(AccessLevel.NONE)
+    private Fixture maskSecond;
+
+    public Contact(Fixture fixture1, Fixture fixture2) {
+        set(fixture1, fixture2);
+    }
+
+    Contact() {}
+
+    /**
+     * Returns the key of the contact between the two fixtures, the same for either order of the fixtures.
+     *
+     * @param fixture1 the first fixture
+     * @param fixture2 the second fixture
+     * @return the key
+     */
+    public static long key(Fixture fixture1, Fixture fixture2) {
+        return key(fixture1.getId(), fixture2.getId());
+    }
+
+    static long key(int id1, int id2) {
+        // the low id is masked so that a negative id cannot sign-extend over the high id
+        return id1 < id2 ? ((long) id1 << 32) | (id2 & 0xFFFFFFFFL) : ((long) id2 << 32) | (id1 & 0xFFFFFFFFL);
+    }
+
+    void set(Fixture fixture1, Fixture fixture2) {
+        this.fixture1 = fixture1;
+        this.fixture2 = fixture2;
+        key = key(fixture1, fixture2);
+        maskFirst = null;
+        maskSecond = null;
+    }
+
+    void reset() {
+        fixture1 = null;
+        fixture2 = null;
+        maskFirst = null;
+        maskSecond = null;
+    }
 
     /**
      * Checks if {@link Fixture#getFixtureType()} of {@link #fixture1} and {@link #fixture2} matches the supplied
-     * {@link FixtureType} arguments. If so, then return true and set {@link #mask}, otherwise return false and
-     * keep the mask pair the same as it was, null if never initialized by accepted mask.
+     * {@link FixtureType} arguments. If so, then return true and set the mask, otherwise return false and
+     * keep the mask the same as it was, null if never initialized by accepted mask.
      *
      * @param fixtureType1 the fixture type 1
      * @param fixtureType2 the fixture type 2
      * @return if the mask is accepted
      */
     public boolean acceptMask(FixtureType fixtureType1, FixtureType fixtureType2) {
-        if (fixture1.getFixtureType().equals(fixtureType1) && fixture2.getFixtureType().equals(fixtureType2)) {
-            mask = new Pair<>(fixture1, fixture2);
+        if (fixture1.getFixtureType() == fixtureType1 && fixture2.getFixtureType() == fixtureType2) {
+            setMask(fixture1, fixture2);
             return true;
-        } else if (fixture2.getFixtureType().equals(fixtureType1) && fixture1.getFixtureType().equals(fixtureType2)) {
-            mask = new Pair<>(fixture2, fixture1);
+        } else if (fixture2.getFixtureType() == fixtureType1 && fixture1.getFixtureType() == fixtureType2) {
+            setMask(fixture2, fixture1);
             return true;
         }
         return false;
@@ -47,29 +90,34 @@ public class Contact {
 
     /**
      * Checks if {@link Fixture#getFixtureType()} of {@link #fixture1} or {@link #fixture2} matches the supplied
-     * {@link FixtureType} argument. If so, then set the first element of {@link #getMask()} to the matching fixture.
+     * {@link FixtureType} argument. If so, then set the first fixture of the mask to the matching fixture.
      *
      * @param fixtureType the fixture type
      * @return if the mask is accepted
      */
     public boolean acceptMask(FixtureType fixtureType) {
-        if (fixture1.getFixtureType().equals(fixtureType)) {
-            mask = new Pair<>(fixture1, fixture2);
+        if (fixture1.getFixtureType() == fixtureType) {
+            setMask(fixture1, fixture2);
             return true;
-        } else if (fixture2.getFixtureType().equals(fixtureType)) {
-            mask = new Pair<>(fixture2, fixture1);
+        } else if (fixture2.getFixtureType() == fixtureType) {
+            setMask(fixture2, fixture1);
             return true;
         }
         return false;
     }
 
+    void setMask(Fixture first, Fixture second) {
+        maskFirst = first;
+        maskSecond = second;
+    }
+
     /**
-     * Fetches the {@link IEntity} of the first {@link Fixture} contained in {@link #getMask()}.
+     * Fetches the {@link IEntity} of the first {@link Fixture} of the mask.
      *
      * @return the entity
      */
     public IEntity mask1stEntity() {
-        return mask.getFirst().getEntity();
+        return maskFirst.getEntity();
     }
 
     /**
@@ -87,16 +135,16 @@ public class Contact {
      * @return the fixture
      */
     public Fixture mask1stFixture() {
-        return mask.getFirst();
+        return maskFirst;
     }
 
     /**
-     * Fetches the {@link IEntity} of the second {@link Fixture} contained in {@link #getMask()}.
+     * Fetches the {@link IEntity} of the second {@link Fixture} of the mask.
      *
      * @return the entity
      */
     public IEntity mask2ndEntity() {
-        return mask.getSecond().getEntity();
+        return maskSecond.getEntity();
     }
 
     /**
@@ -114,22 +162,17 @@ public class Contact {
      * @return the fixture
      */
     public Fixture mask2ndFixture() {
-        return mask.getSecond();
+        return maskSecond;
     }
 
     @Override
     public boolean equals(Object o) {
-        return o instanceof Contact contact &&
-                ((fixture1.equals(contact.getFixture1()) && fixture2.equals(contact.getFixture2())) ||
-                        (fixture1.equals(contact.getFixture2()) && fixture2.equals(contact.getFixture1())));
+        return o instanceof Contact contact && key == contact.key;
     }
 
     @Override
     public int hashCode() {
-        int hash = 49;
-        hash += 7 * fixture1.hashCode();
-        hash += 7 * fixture2.hashCode();
-        return hash;
+        return Long.hashCode(key);
     }
 
-}
\ No newline at end of file
+}
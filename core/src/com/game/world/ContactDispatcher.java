@@ -0,0 +1,163 @@
+package com.game.world;
+
+/**
+ * {@link WorldContactListener} that dispatches each {@link Contact} through tables indexed by the ordered pair of the
+ * {@link FixtureType} values of its fixtures, one table each for begin, continue, and end. Dispatching a contact is
+ * one array lookup no matter how many handlers are registered, and the {@link FixtureTypeFilter} is derived from the
+ * registered pairs.
+ * <p>
+ * Like a chain of {@link Contact#acceptMask(FixtureType, FixtureType)} calls, the first handler registered for a pair
+ * of fixture types in a phase takes precedence, so specific pairs should be registered before single fixture types.
+ */
+public class ContactDispatcher implements WorldContactListener {
+
+    private static final FixtureType[] FIXTURE_TYPES = FixtureType.values();
+    private static final int COUNT = FIXTURE_TYPES.length;
+
+    private final Table beginTable = new Table();
+    private final Table continueTable = new Table();
+    private final Table endTable = new Table();
+
+    /**
+     * Registers the handler for the begin of contacts between the fixture types.
+     *
+     * @param fixtureType1 the fixture type of the first fixture of the mask
+     * @param fixtureType2 the fixture type of the second fixture of the mask
+     * @param handler      the handler
+     * @return this dispatcher for chaining
+     */
+    public ContactDispatcher onBegin(FixtureType fixtureType1, FixtureType fixtureType2, ContactHandler handler) {
+        beginTable.register(fixtureType1, fixtureType2, handler);
+        return this;
+    }
+
+    /**
+     * Registers the handler for the begin of contacts between the fixture type and any fixture type.
+     *
+     * @param fixtureType the fixture type of the first fixture of the mask
+     * @param handler     the handler
+     * @return this dispatcher for chaining
+     */
+    public ContactDispatcher onBegin(FixtureType fixtureType, ContactHandler handler) {
+        beginTable.register(fixtureType, handler);
+        return this;
+    }
+
+    /**
+     * Registers the handler for the continuation of contacts between the fixture types.
+     *
+     * @param fixtureType1 the fixture type of the first fixture of the mask
+     * @param fixtureType2 the fixture type of the second fixture of the mask
+     * @param handler      the handler
+     * @return this dispatcher for chaining
+     */
+    public ContactDispatcher onContinue(FixtureType fixtureType1, FixtureType fixtureType2, ContactHandler handler) {
+        continueTable.register(fixtureType1, fixtureType2, handler);
+        return this;
+    }
+
+    /**
+     * Registers the handler for the continuation of contacts between the fixture type and any fixture type.
+     *
+     * @param fixtureType the fixture type of the first fixture of the mask
+     * @param handler     the handler
+     * @return this dispatcher for chaining
+     */
+    public ContactDispatcher onContinue(FixtureType fixtureType, ContactHandler handler) {
+        continueTable.register(fixtureType, handler);
+        return this;
+    }
+
+    /**
+     * Registers the handler for the end of contacts between the fixture types.
+     *
+     * @param fixtureType1 the fixture type of the first fixture of the mask
+     * @param fixtureType2 the fixture type of the second fixture of the mask
+     * @param handler      the handler
+     * @return this dispatcher for chaining
+     */
+    public ContactDispatcher onEnd(FixtureType fixtureType1, FixtureType fixtureType2, ContactHandler handler) {
+        endTable.register(fixtureType1, fixtureType2, handler);
+        return this;
+    }
+
+    /**
+     * Registers the handler for the end of contacts between the fixture type and any fixture type.
+     *
+     * @param fixtureType the fixture type of the first fixture of the mask
+     * @param handler     the handler
+     * @return this dispatcher for chaining
+     */
+    public ContactDispatcher onEnd(FixtureType fixtureType, ContactHandler handler) {
+        endTable.register(fixtureType, handler);
+        return this;
+    }
+
+    @Override
+    public FixtureTypeFilter getFixtureTypeFilter() {
+        FixtureTypeFilter fixtureTypeFilter = new FixtureTypeFilter();
+        for (int i = 0; i < COUNT * COUNT; i++) {
+            if (beginTable.handlers[i] != null || continueTable.handlers[i] != null || endTable.handlers[i] != null) {
+                fixtureTypeFilter.accept(FIXTURE_TYPES[i / COUNT], FIXTURE_TYPES[i % COUNT]);
+            }
+        }
+        return fixtureTypeFilter;
+    }
+
+    @Override
+    public void beginContact(Contact contact, float delta) {
+        beginTable.dispatch(contact, delta);
+    }
+
+    @Override
+    public void continueContact(Contact contact, float delta) {
+        continueTable.dispatch(contact, delta);
+    }
+
+    @Override
+    public void endContact(Contact contact, float delta) {
+        endTable.dispatch(contact, delta);
+    }
+
+    private static class Table {
+
+        private final ContactHandler[] handlers = new ContactHandler[COUNT * COUNT];
+        private final boolean[] swapped = new boolean[COUNT * COUNT];
+
+        private void register(FixtureType fixtureType1, FixtureType fixtureType2, ContactHandler handler) {
+            int index = fixtureType1.ordinal() * COUNT + fixtureType2.ordinal();
+            if (handlers[index] == null) {
+                handlers[index] = handler;
+            }
+            int swappedIndex = fixtureType2.ordinal() * COUNT + fixtureType1.ordinal();
+            if (handlers[swappedIndex] == null) {
+                handlers[swappedIndex] = handler;
+                swapped[swappedIndex] = true;
+            }
+        }
+
+        private void register(FixtureType fixtureType, ContactHandler handler) {
+            for (FixtureType other : FIXTURE_TYPES) {
+                register(fixtureType, other, handler);
+            }
+        }
+
+        private void dispatch(Contact contact, float delta) {
+            Fixture fixture1 = contact.getFixture1();
+            Fixture fixture2 = contact.getFixture2();
+            int index = fixture1.getFixtureType().ordinal() * COUNT + fixture2.getFixtureType().ordinal();
+            ContactHandler handler = handlers[index];
+            if (handler == null) {
+                return;
+            }
+            if (swapped[index]) {
+                contact.setMask(fixture2, fixture1);
+            } else {
+                contact.setMask(fixture1, fixture2);
+            }
+            handler.handle(contact, delta);
+        }
+
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.game.world;
+
+/**
+ * Handles one phase of a {@link Contact} between two fixtures of a registered pair of {@link FixtureType} values.
+ * When the handler is called, the mask of the contact is already set in the order the fixture types were registered
+ * with {@link ContactDispatcher}.
+ */
+@FunctionalInterface
+public interface ContactHandler {
+
+    /**
+     * Handles the contact.
+     *
+     * @param contact the contact
+     * @param delta   the delta time
+     */
+    void handle(Contact contact, float delta);
+
+}
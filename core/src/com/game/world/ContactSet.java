@@ -0,0 +1,165 @@
+package com.game.world;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Set of the {@link Contact} instances of one frame, keyed by {@link Contact#getKey()}. Keys are looked up in a
+ * primitive open-addressing hash table with linear probing, and contacts are kept in dense arrays that
+ * {@link #sort()} orders by key so that two sets can be diffed with one merge walk. Contacts are obtained from and
+ * returned to a pool shared with other sets, so after warm-up no objects are allocated.
+ */
+class ContactSet {
+
+    private static final long EMPTY = -1L;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final ArrayDeque<Contact> pool;
+    private long[] table = new long[INITIAL_CAPACITY * 2];
+    private int[] tableIndices = new int[INITIAL_CAPACITY * 2];
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private Contact[] contacts = new Contact[INITIAL_CAPACITY];
+    private long[] sortedKeys = new long[INITIAL_CAPACITY];
+    private Contact[] sortedContacts = new Contact[INITIAL_CAPACITY];
+    private int size;
+
+    ContactSet(ArrayDeque<Contact> pool) {
+        this.pool = pool;
+        Arrays.fill(table, EMPTY);
+    }
+
+    /**
+     * Adds the contact between the two fixtures if the set does not contain it yet.
+     *
+     * @param fixture1 the first fixture
+     * @param fixture2 the second fixture
+     */
+    void add(Fixture fixture1, Fixture fixture2) {
+        long key = Contact.key(fixture1, fixture2);
+        int slot = slotOf(key);
+        if (table[slot] == key) {
+            return;
+        }
+        if (size == keys.length) {
+            grow();
+            slot = slotOf(key);
+        }
+        Contact contact = pool.isEmpty() ? new Contact() : pool.pop();
+        contact.set(fixture1, fixture2);
+        table[slot] = key;
+        tableIndices[slot] = size;
+        keys[size] = key;
+        contacts[size] = contact;
+        size++;
+    }
+
+    /**
+     * Orders the contacts by key.
+     */
+    void sort() {
+        System.arraycopy(keys, 0, sortedKeys, 0, size);
+        Arrays.sort(sortedKeys, 0, size);
+        for (int i = 0; i < size; i++) {
+            int slot = slotOf(sortedKeys[i]);
+            sortedContacts[i] = contacts[tableIndices[slot]];
+        }
+        for (int i = 0; i < size; i++) {
+            tableIndices[slotOf(sortedKeys[i])] = i;
+        }
+        long[] tempKeys = keys;
+        keys = sortedKeys;
+        sortedKeys = tempKeys;
+        Contact[] tempContacts = contacts;
+        contacts = sortedContacts;
+        sortedContacts = tempContacts;
+        Arrays.fill(sortedContacts, 0, size, null);
+    }
+
+    int size() {
+        return size;
+    }
+
+    long key(int index) {
+        return keys[index];
+    }
+
+    Contact get(int index) {
+        return contacts[index];
+    }
+
+    /**
+     * Removes every contact that matches the predicate and returns it to the pool after passing it to the consumer.
+     * The remaining contacts keep their order.
+     *
+     * @param predicate the predicate of the contacts to remove
+     * @param removed   the consumer of each removed contact
+     */
+    void removeIf(Predicate<Contact> predicate, Consumer<Contact> removed) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            Contact contact = contacts[i];
+            if (predicate.test(contact)) {
+                removed.accept(contact);
+                contact.reset();
+                pool.push(contact);
+            } else {
+                keys[kept] = keys[i];
+                contacts[kept++] = contact;
+            }
+        }
+        if (kept == size) {
+            return;
+        }
+        Arrays.fill(contacts, kept, size, null);
+        size = kept;
+        rehash();
+    }
+
+    /**
+     * Returns every contact to the pool and empties the set.
+     */
+    void clear() {
+        if (size == 0) {
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            contacts[i].reset();
+            pool.push(contacts[i]);
+            contacts[i] = null;
+        }
+        Arrays.fill(table, EMPTY);
+        size = 0;
+    }
+
+    private int slotOf(long key) {
+        int mask = table.length - 1;
+        int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        while (table[slot] != EMPTY && table[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        int capacity = keys.length * 2;
+        keys = Arrays.copyOf(keys, capacity);
+        contacts = Arrays.copyOf(contacts, capacity);
+        sortedKeys = new long[capacity];
+        sortedContacts = new Contact[capacity];
+        table = new long[capacity * 2];
+        tableIndices = new int[capacity * 2];
+        rehash();
+    }
+
+    private void rehash() {
+        Arrays.fill(table, EMPTY);
+        for (int i = 0; i < size; i++) {
+            int slot = slotOf(keys[i]);
+            table[slot] = keys[i];
+            tableIndices[slot] = i;
+        }
+    }
+
+}
@@ -4,30 +4,56 @@ import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.game.core.IEntity;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Defines a fixture fixed to a body. Offset is from the center of the body.
+ * Defines a fixture fixed to a body. Offset is from the center of the body. Two fixtures can only be in contact if the
+ * category bits of each share a bit with the mask bits of the other, see {@link #canContact(Fixture)}. By default a
+ * fixture is in the first category and can contact every category. Each fixture has a unique id that identifies its
+ * contacts, see {@link Contact#getKey()}.
  */
 @Getter
 @Setter
 @RequiredArgsConstructor
 public class Fixture {
 
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    private final int id = NEXT_ID.getAndIncrement();
     private final IEntity entity;
     private final FixtureType fixtureType;
     private final Vector2 offset = new Vector2();
     private final Rectangle fixtureBox = new Rectangle();
     private final Map<String, Object> userData = new HashMap<>();
 
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.PACKAGE)
+    private BodyComponent body;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean dirty = true;
     private boolean active = true;
+    private long categoryBits = 1L;
+    private long maskBits = -1L;
     private Color debugColor = Color.YELLOW;
 
+    /**
+     * Returns if the category and mask bits of this fixture and the other fixture allow contact between them.
+     *
+     * @param other the other fixture
+     * @return if the fixtures can be in contact
+     */
+    public boolean canContact(Fixture other) {
+        return (categoryBits & other.maskBits) != 0L && (other.categoryBits & maskBits) != 0L;
+    }
+
     /**
      * Put user data
      *
@@ -69,6 +95,7 @@ public class Fixture {
      */
     public void set(Rectangle bounds) {
         fixtureBox.set(bounds);
+        markDirty();
     }
 
     /**
@@ -81,6 +108,7 @@ public class Fixture {
      */
     public void set(float x, float y, float width, float height) {
         fixtureBox.set(x, y, width, height);
+        markDirty();
     }
 
     /**
@@ -91,6 +119,7 @@ public class Fixture {
      */
     public void setOffset(float x, float y) {
         offset.set(x, y);
+        markDirty();
     }
 
     /**
@@ -101,6 +130,7 @@ public class Fixture {
      */
     public void setSize(float x, float y) {
         fixtureBox.setSize(x, y);
+        markDirty();
     }
 
     /**
@@ -110,6 +140,7 @@ public class Fixture {
      */
     public void setWidth(float x) {
         fixtureBox.setWidth(x);
+        markDirty();
     }
 
     /**
@@ -119,6 +150,7 @@ public class Fixture {
      */
     public void setHeight(float y) {
         fixtureBox.setHeight(y);
+        markDirty();
     }
 
     /**
@@ -138,6 +170,37 @@ public class Fixture {
      */
     public void setCenter(float x, float y) {
         fixtureBox.setCenter(x, y);
+        markDirty();
+    }
+
+    /**
+     * Marks the fixture as changed since it was last synced, and the body it was added to as changed.
+     */
+    private void markDirty() {
+        dirty = true;
+        if (body != null) {
+            body.markChanged();
+        }
+    }
+
+    /**
+     * Returns if the offset, size, or position of the fixture was set since it was last synced to its body.
+     *
+     * @return if the fixture is dirty
+     */
+    boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Centers the fixture on the point and marks it as synced to its body.
+     *
+     * @param x the x
+     * @param y the y
+     */
+    void syncCenter(float x, float y) {
+        fixtureBox.setCenter(x, y);
+        dirty = false;
     }
 
 }
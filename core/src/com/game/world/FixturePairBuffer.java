@@ -0,0 +1,42 @@
+package com.game.world;
+
+import java.util.Arrays;
+
+/**
+ * Growable buffer of pairs of overlapping {@link Fixture} instances found by one chunk of the narrowphase of
+ * {@link WorldSystem}. Each chunk writes only to its own buffer, so chunks can run concurrently, and the buffers are
+ * merged into the contacts of the step in chunk order.
+ */
+class FixturePairBuffer {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private Fixture[] firsts = new Fixture[INITIAL_CAPACITY];
+    private Fixture[] seconds = new Fixture[INITIAL_CAPACITY];
+    private int size;
+
+    void add(Fixture first, Fixture second) {
+        if (size == firsts.length) {
+            firsts = Arrays.copyOf(firsts, size * 2);
+            seconds = Arrays.copyOf(seconds, size * 2);
+        }
+        firsts[size] = first;
+        seconds[size] = second;
+        size++;
+    }
+
+    /**
+     * Adds every pair to the contact set and then clears the buffer.
+     *
+     * @param contacts the contact set
+     */
+    void drainTo(ContactSet contacts) {
+        for (int i = 0; i < size; i++) {
+            contacts.add(firsts[i], seconds[i]);
+        }
+        Arrays.fill(firsts, 0, size, null);
+        Arrays.fill(seconds, 0, size, null);
+        size = 0;
+    }
+
+}
@@ -1,6 +1,6 @@
 package com.game.world;
 
 public enum FixtureType {
-    DEATH, ITEM, HEAD, FEET, LEFT, RIGHT, BLOCK, LADDER, SHIELD, DAMAGEABLE_BOX, DAMAGER_BOX, HITTER_BOX, FEET_STICKER,
+    DEATH, ITEM, HEAD, FEET, LEFT, RIGHT, BLOCK, LADDER, SHIELD, DAMAGEABLE_BOX, DAMAGER_BOX, HITTER_BOX,
     GRAVITY_SHIFT, WALL_SLIDE_SENSOR
 }
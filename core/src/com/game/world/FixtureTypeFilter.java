@@ -0,0 +1,64 @@
+package com.game.world;
+
+/**
+ * Symmetric {@link FixtureType} x {@link FixtureType} matrix of the fixture type pairs a {@link WorldContactListener}
+ * handles. {@link WorldSystem} checks the matrix before testing two fixtures for overlap, so fixtures whose types are
+ * never handled by the listener are never tested and never produce a {@link Contact}. Each row of the matrix is a bit
+ * mask over the ordinals of the fixture types.
+ */
+public class FixtureTypeFilter {
+
+    private final long[] rows = new long[FixtureType.values().length];
+
+    /**
+     * Returns a filter that accepts every pair of fixture types.
+     *
+     * @return the filter
+     */
+    public static FixtureTypeFilter all() {
+        FixtureTypeFilter fixtureTypeFilter = new FixtureTypeFilter();
+        for (FixtureType fixtureType : FixtureType.values()) {
+            fixtureTypeFilter.accept(fixtureType);
+        }
+        return fixtureTypeFilter;
+    }
+
+    /**
+     * Accepts the pair of fixture types, in either order.
+     *
+     * @param fixtureType1 the first fixture type
+     * @param fixtureType2 the second fixture type
+     * @return this filter for chaining
+     */
+    public FixtureTypeFilter accept(FixtureType fixtureType1, FixtureType fixtureType2) {
+        rows[fixtureType1.ordinal()] |= 1L << fixtureType2.ordinal();
+        rows[fixtureType2.ordinal()] |= 1L << fixtureType1.ordinal();
+        return this;
+    }
+
+    /**
+     * Accepts every pair of fixture types that includes the fixture type, the counterpart of
+     * {@link Contact#acceptMask(FixtureType)}.
+     *
+     * @param fixtureType the fixture type
+     * @return this filter for chaining
+     */
+    public FixtureTypeFilter accept(FixtureType fixtureType) {
+        for (FixtureType other : FixtureType.values()) {
+            accept(fixtureType, other);
+        }
+        return this;
+    }
+
+    /**
+     * Returns if the pair of fixture types is accepted.
+     *
+     * @param fixtureType1 the first fixture type
+     * @param fixtureType2 the second fixture type
+     * @return if the pair is accepted
+     */
+    public boolean isAccepted(FixtureType fixtureType1, FixtureType fixtureType2) {
+        return (rows[fixtureType1.ordinal()] & (1L << fixtureType2.ordinal())) != 0L;
+    }
+
+}
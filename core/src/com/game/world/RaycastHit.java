@@ -0,0 +1,29 @@
+package com.game.world;
+
+import com.badlogic.gdx.math.Vector2;
+import lombok.Getter;
+
+/**
+ * Result of {@link WorldSystem#raycast(Vector2, Vector2, FixtureType, RaycastHit)}, supplied by the caller so that
+ * raycasts do not allocate. Holds the first {@link Fixture} hit along the segment, the fraction of the segment at which
+ * it is hit, and the point of the hit.
+ */
+@Getter
+public class RaycastHit {
+
+    private final Vector2 point = new Vector2();
+    private Fixture fixture;
+    private float fraction;
+
+    void set(Fixture fixture, float fraction, Vector2 from, Vector2 to) {
+        this.fixture = fixture;
+        this.fraction = fraction;
+        point.set(from).lerp(to, fraction);
+    }
+
+    void clear() {
+        fixture = null;
+        fraction = 1f;
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.game.world;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.game.utils.UtilMethods;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Partition of the world into rooms, e.g. the game rooms of a level, used by {@link WorldSystem} to only simulate the
+ * bodies near the player. The active room and the rooms that overlap or touch it are the active area. A body is active
+ * if its collision box overlaps or touches the active area, or if its center is not inside any room. The rooms of the
+ * active area are recomputed only when the active room changes.
+ * <p>
+ * Without rooms or without an active room, every body is active.
+ */
+public class RoomPartition {
+
+    private final List<Rectangle> rooms = new ArrayList<>();
+    private final List<Rectangle> activeRooms = new ArrayList<>();
+    private Rectangle activeRoom;
+
+    /**
+     * Sets the rooms and clears the active room.
+     *
+     * @param rooms the rooms
+     */
+    public void setRooms(Collection<Rectangle> rooms) {
+        this.rooms.clear();
+        this.rooms.addAll(rooms);
+        activeRooms.clear();
+        activeRoom = null;
+    }
+
+    /**
+     * Sets the active room. The room should be one of the rooms, or null to make every body active.
+     *
+     * @param activeRoom the active room
+     */
+    public void setActiveRoom(Rectangle activeRoom) {
+        if (this.activeRoom == activeRoom) {
+            return;
+        }
+        this.activeRoom = activeRoom;
+        activeRooms.clear();
+        if (activeRoom == null) {
+            return;
+        }
+        activeRooms.add(activeRoom);
+        for (Rectangle room : rooms) {
+            if (room != activeRoom && UtilMethods.overlaps(room, activeRoom)) {
+                activeRooms.add(room);
+            }
+        }
+    }
+
+    /**
+     * Returns if the body with the collision box should be simulated at full rate.
+     *
+     * @param collisionBox the collision box
+     * @return if the body is active
+     */
+    public boolean isActive(Rectangle collisionBox) {
+        if (activeRoom == null) {
+            return true;
+        }
+        for (int i = 0; i < activeRooms.size(); i++) {
+            if (UtilMethods.overlaps(activeRooms.get(i), collisionBox)) {
+                return true;
+            }
+        }
+        float centerX = collisionBox.x + collisionBox.width / 2f;
+        float centerY = collisionBox.y + collisionBox.height / 2f;
+        for (int i = 0; i < rooms.size(); i++) {
+            if (rooms.get(i).contains(centerX, centerY)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.game.world;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.game.utils.UtilMethods;
+
+import java.util.Arrays;
+
+import static com.game.ConstVals.ViewVals.PPM;
+
+/**
+ * {@link Broadphase} that hashes the bounds of each body into the cells of a uniform grid and only tests the pairs of
+ * bodies sharing a cell. Each (cell, body) entry is packed into a long, so the grid is rebuilt every step by filling
+ * and sorting a reused array, which never allocates once the array is large enough. A pair sharing several cells is
+ * only reported from the cell containing the minimum corner of the intersection of their bounds.
+ */
+public class SpatialHashBroadphase implements Broadphase {
+
+    public static final float DEFAULT_CELL_SIZE = PPM;
+
+    private static final int INDEX_BITS = 24;
+    private static final int CELL_BITS = 20;
+    private static final int CELL_OFFSET = 1 << (CELL_BITS - 1);
+    private static final long INDEX_MASK = (1L << INDEX_BITS) - 1L;
+    private static final long CELL_MASK = (1L << CELL_BITS) - 1L;
+
+    private final float cellSize;
+    private long[] entries = new long[512];
+
+    public SpatialHashBroadphase() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    public SpatialHashBroadphase(float cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    @Override
+    public void findPairs(Rectangle[] bounds, int[] ids, int count, BodyPairBuffer pairs) {
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            Rectangle rect = bounds[i];
+            int minX = cell(rect.x);
+            int maxX = cell(rect.x + rect.width);
+            int minY = cell(rect.y);
+            int maxY = cell(rect.y + rect.height);
+            for (int x = minX; x <= maxX; x++) {
+                for (int y = minY; y <= maxY; y++) {
+                    if (size == entries.length) {
+                        entries = Arrays.copyOf(entries, size * 2);
+                    }
+                    entries[size++] = pack(x, y, i);
+                }
+            }
+        }
+        Arrays.sort(entries, 0, size);
+        int start = 0;
+        while (start < size) {
+            long cell = entries[start] >>> INDEX_BITS;
+            int end = start + 1;
+            while (end < size && entries[end] >>> INDEX_BITS == cell) {
+                end++;
+            }
+            int cellX = (int) ((cell >>> CELL_BITS) & CELL_MASK) - CELL_OFFSET;
+            int cellY = (int) (cell & CELL_MASK) - CELL_OFFSET;
+            for (int a = start; a < end; a++) {
+                int i = (int) (entries[a] & INDEX_MASK);
+                for (int b = a + 1; b < end; b++) {
+                    int j = (int) (entries[b] & INDEX_MASK);
+                    Rectangle r1 = bounds[i];
+                    Rectangle r2 = bounds[j];
+                    if (UtilMethods.overlaps(r1, r2) && cell(Math.max(r1.x, r2.x)) == cellX &&
+                            cell(Math.max(r1.y, r2.y)) == cellY) {
+                        pairs.add(i, j);
+                    }
+                }
+            }
+            start = end;
+        }
+        pairs.sort();
+    }
+
+    private int cell(float coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private static long pack(int cellX, int cellY, int index) {
+        return (((cellX + CELL_OFFSET) & CELL_MASK) << (CELL_BITS + INDEX_BITS)) |
+                (((cellY + CELL_OFFSET) & CELL_MASK) << INDEX_BITS) | index;
+    }
+
+}
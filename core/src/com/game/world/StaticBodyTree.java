@@ -0,0 +1,214 @@
+package com.game.world;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.IntArray;
+import com.game.utils.UtilMethods;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable AABB tree over the {@link BodyType#STATIC} bodies that do not move, e.g. the blocks of a level. The tree is
+ * built once from the bodies and their fixtures and is only rebuilt when a body is added or removed, or when
+ * {@link #isUpToDate(BodyComponent)} reports that the bounds or fixtures of one of them were set since. Setting a body
+ * or one of its fixtures bumps the change count of the body, so checking a body is constant time.
+ * {@link WorldSystem} queries the tree with the bounds of each moving body, so pairs of two static bodies are never
+ * tested and static bodies are never integrated.
+ */
+public class StaticBodyTree {
+
+    private final List<BodyComponent> bodies = new ArrayList<>();
+    private Rectangle[] bounds = new Rectangle[0];
+    private int[] changeCounts = new int[0];
+    private float[] nodeBounds = new float[0];
+    private int[] nodeLeft = new int[0];
+    private int[] nodeRight = new int[0];
+    private int[] items = new int[0];
+    private int[] stack = new int[32];
+    private int nodeCount;
+
+    /**
+     * Returns if the body is in the tree and neither its bounds nor its fixtures were set since the tree was built.
+     * Activating or deactivating a fixture does not make the tree out of date, since inactive fixtures are skipped
+     * when the pairs are tested.
+     *
+     * @param bodyComponent the body
+     * @return if the body is up to date in the tree
+     */
+    public boolean isUpToDate(BodyComponent bodyComponent) {
+        int index = bodyComponent.getTreeIndex();
+        return index >= 0 && index < bodies.size() && bodies.get(index) == bodyComponent &&
+                changeCounts[index] == bodyComponent.getChangeCount();
+    }
+
+    /**
+     * Builds the tree from the bodies. The fixtures of each body are moved to their offsets from the body center,
+     * since the bodies are not integrated while they are in the tree.
+     *
+     * @param bodies the bodies
+     */
+    public void build(List<BodyComponent> bodies) {
+        for (BodyComponent bodyComponent : this.bodies) {
+            bodyComponent.setTreeIndex(-1);
+        }
+        this.bodies.clear();
+        this.bodies.addAll(bodies);
+        int count = bodies.size();
+        if (bounds.length < count) {
+            int oldLength = bounds.length;
+            bounds = Arrays.copyOf(bounds, count);
+            for (int i = oldLength; i < count; i++) {
+                bounds[i] = new Rectangle();
+            }
+            changeCounts = new int[count];
+            items = new int[count];
+            nodeBounds = new float[count * 2 * 4];
+            nodeLeft = new int[count * 2];
+            nodeRight = new int[count * 2];
+        }
+        for (int i = 0; i < count; i++) {
+            BodyComponent bodyComponent = bodies.get(i);
+            bodyComponent.syncFixtures();
+            bodyComponent.setTreeIndex(i);
+            changeCounts[i] = bodyComponent.getChangeCount();
+            Rectangle rect = bounds[i].set(bodyComponent.getCollisionBox());
+            for (Fixture fixture : bodyComponent.getFixtures()) {
+                rect.merge(fixture.getFixtureBox());
+            }
+            items[i] = i;
+        }
+        nodeCount = 0;
+        if (count > 0) {
+            buildNode(0, count);
+        }
+    }
+
+    /**
+     * Adds the index of every body whose bounds overlap or touch the rectangle to the output, in ascending order.
+     *
+     * @param rect the rectangle
+     * @param out  the output
+     */
+    public void query(Rectangle rect, IntArray out) {
+        if (nodeCount == 0) {
+            return;
+        }
+        int start = out.size;
+        float minX = rect.x;
+        float minY = rect.y;
+        float maxX = rect.x + rect.width;
+        float maxY = rect.y + rect.height;
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            int n = node * 4;
+            if (nodeBounds[n] > maxX || nodeBounds[n + 2] < minX || nodeBounds[n + 1] > maxY ||
+                    nodeBounds[n + 3] < minY) {
+                continue;
+            }
+            if (nodeLeft[node] < 0) {
+                int body = -nodeLeft[node] - 1;
+                if (UtilMethods.overlaps(bounds[body], rect)) {
+                    out.add(body);
+                }
+                continue;
+            }
+            if (top + 2 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            }
+            stack[top++] = nodeRight[node];
+            stack[top++] = nodeLeft[node];
+        }
+        Arrays.sort(out.items, start, out.size);
+    }
+
+    /**
+     * Returns the body at the index.
+     *
+     * @param index the index
+     * @return the body
+     */
+    public BodyComponent get(int index) {
+        return bodies.get(index);
+    }
+
+    public int size() {
+        return bodies.size();
+    }
+
+    private int buildNode(int from, int to) {
+        int node = nodeCount++;
+        int n = node * 4;
+        float minX = Float.POSITIVE_INFINITY;
+        float minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY;
+        float maxY = Float.NEGATIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            Rectangle rect = bounds[items[i]];
+            minX = Math.min(minX, rect.x);
+            minY = Math.min(minY, rect.y);
+            maxX = Math.max(maxX, rect.x + rect.width);
+            maxY = Math.max(maxY, rect.y + rect.height);
+        }
+        nodeBounds[n] = minX;
+        nodeBounds[n + 1] = minY;
+        nodeBounds[n + 2] = maxX;
+        nodeBounds[n + 3] = maxY;
+        if (to - from == 1) {
+            nodeLeft[node] = -items[from] - 1;
+            return node;
+        }
+        // split at the median center along the longest axis
+        boolean alongX = maxX - minX >= maxY - minY;
+        int mid = (from + to) >>> 1;
+        select(from, to, mid, alongX);
+        nodeLeft[node] = buildNode(from, mid);
+        nodeRight[node] = buildNode(mid, to);
+        return node;
+    }
+
+    /**
+     * Partially orders the items from inclusive to exclusive so that the item at k is the one that would be there if
+     * the items were sorted by center, no item before k has a greater center, and no item after k has a lesser one.
+     * Runs in expected linear time, so that the tree is built in O(n log n).
+     */
+    private void select(int from, int to, int k, boolean alongX) {
+        int left = from;
+        int right = to - 1;
+        while (left < right) {
+            float pivot = centerOf(items[(left + right) >>> 1], alongX);
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (centerOf(items[i], alongX) < pivot) {
+                    i++;
+                }
+                while (centerOf(items[j], alongX) > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    int item = items[i];
+                    items[i] = items[j];
+                    items[j] = item;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private float centerOf(int item, boolean alongX) {
+        Rectangle rect = bounds[item];
+        return alongX ? rect.x + rect.width / 2f : rect.y + rect.height / 2f;
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.game.world;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.IntIntMap;
+
+import java.util.Arrays;
+
+/**
+ * {@link Broadphase} that keeps the bodies sorted by the minimum x of their bounds and only tests bodies whose x
+ * intervals overlap. The sorted order is kept between steps by body id and restored with an insertion sort, which is
+ * close to linear since bodies move little from one step to the next. Because the order is kept by id rather than by
+ * index, bodies added or removed before others do not scramble it. Suited to levels that are long horizontal strips,
+ * where few bodies share an x interval.
+ */
+public class SweepAndPruneBroadphase implements Broadphase {
+
+    private final IntIntMap indicesById = new IntIntMap();
+    private int[] order = new int[64];
+    private int[] orderIds = new int[64];
+    private boolean[] present = new boolean[64];
+    private int orderSize;
+
+    @Override
+    public void findPairs(Rectangle[] bounds, int[] ids, int count, BodyPairBuffer pairs) {
+        syncOrder(ids, count);
+        // insertion sort on the minimum x
+        for (int a = 1; a < count; a++) {
+            int index = order[a];
+            float x = bounds[index].x;
+            int b = a - 1;
+            while (b >= 0 && bounds[order[b]].x > x) {
+                order[b + 1] = order[b];
+                b--;
+            }
+            order[b + 1] = index;
+        }
+        for (int a = 0; a < count; a++) {
+            orderIds[a] = ids[order[a]];
+        }
+        orderSize = count;
+        // sweep
+        for (int a = 0; a < count; a++) {
+            int i = order[a];
+            Rectangle r1 = bounds[i];
+            float maxX = r1.x + r1.width;
+            for (int b = a + 1; b < count; b++) {
+                int j = order[b];
+                Rectangle r2 = bounds[j];
+                if (r2.x > maxX) {
+                    break;
+                }
+                if (r1.y <= r2.y + r2.height && r1.y + r1.height >= r2.y) {
+                    pairs.add(i, j);
+                }
+            }
+        }
+        pairs.sort();
+    }
+
+    /**
+     * Makes the order contain exactly the indices below the count. Bodies that were already present keep their prior
+     * order, found through their ids, and new bodies are appended.
+     *
+     * @param ids   the ids of the bodies
+     * @param count the number of bodies
+     */
+    private void syncOrder(int[] ids, int count) {
+        if (order.length < count) {
+            int capacity = Math.max(count, order.length * 2);
+            order = new int[capacity];
+            orderIds = Arrays.copyOf(orderIds, capacity);
+            present = new boolean[capacity];
+        }
+        indicesById.clear();
+        for (int index = 0; index < count; index++) {
+            indicesById.put(ids[index], index);
+        }
+        Arrays.fill(present, 0, count, false);
+        int size = 0;
+        for (int a = 0; a < orderSize; a++) {
+            int index = indicesById.get(orderIds[a], -1);
+            if (index >= 0) {
+                order[size++] = index;
+                present[index] = true;
+            }
+        }
+        for (int index = 0; index < count; index++) {
+            if (!present[index]) {
+                order[size++] = index;
+            }
+        }
+    }
+
+}
@@ -5,6 +5,17 @@ package com.game.world;
  */
 public interface WorldContactListener {
 
+    /**
+     * Returns the fixture type pairs handled by this listener. Only fixtures whose types are accepted by the filter are
+     * tested for contact. The filter is read once when the listener is given to {@link WorldSystem}. Defaults to
+     * accepting every pair.
+     *
+     * @return the fixture type filter
+     */
+    default FixtureTypeFilter getFixtureTypeFilter() {
+        return FixtureTypeFilter.all();
+    }
+
     /**
      * Begin contact.
      *
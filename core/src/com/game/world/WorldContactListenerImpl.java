@@ -3,33 +3,21 @@ package com.game.world;
 /**
  * Implementation of {@link WorldContactListener}.
  */
-public class WorldContactListenerImpl implements WorldContactListener {
+public class WorldContactListenerImpl extends ContactDispatcher {
 
-    @Override
-    public void beginContact(Contact contact, float delta) {
-        if (contact.acceptMask(FixtureType.FEET, FixtureType.BLOCK)) {
-            contact.mask1stEntity().getComponent(BodyComponent.class).setIs(BodySense.FEET_ON_GROUND);
-        } else if (contact.acceptMask(FixtureType.HEAD, FixtureType.BLOCK)) {
-            contact.mask1stEntity().getComponent(BodyComponent.class).setIs(BodySense.HEAD_TOUCHING_BLOCK);
-        }
-    }
-
-    @Override
-    public void continueContact(Contact contact, float delta) {
-        if (contact.acceptMask(FixtureType.FEET, FixtureType.BLOCK)) {
-            contact.mask1stEntity().getComponent(BodyComponent.class).setIs(BodySense.FEET_ON_GROUND);
-        } else if (contact.acceptMask(FixtureType.HEAD, FixtureType.BLOCK)) {
-            contact.mask1stEntity().getComponent(BodyComponent.class).setIs(BodySense.HEAD_TOUCHING_BLOCK);
-        }
-    }
-
-    @Override
-    public void endContact(Contact contact, float delta) {
-        if (contact.acceptMask(FixtureType.FEET, FixtureType.BLOCK)) {
-            contact.mask1stEntity().getComponent(BodyComponent.class).setIsNot(BodySense.FEET_ON_GROUND);
-        } else if (contact.acceptMask(FixtureType.HEAD, FixtureType.BLOCK)) {
-            contact.mask1stEntity().getComponent(BodyComponent.class).setIsNot(BodySense.HEAD_TOUCHING_BLOCK);
-        }
+    public WorldContactListenerImpl() {
+        onBegin(FixtureType.FEET, FixtureType.BLOCK, (contact, delta) ->
+                contact.mask1stEntity().getComponent(BodyComponent.class).setIs(BodySense.FEET_ON_GROUND));
+        onBegin(FixtureType.HEAD, FixtureType.BLOCK, (contact, delta) ->
+                contact.mask1stEntity().getComponent(BodyComponent.class).setIs(BodySense.HEAD_TOUCHING_BLOCK));
+        onContinue(FixtureType.FEET, FixtureType.BLOCK, (contact, delta) ->
+                contact.mask1stEntity().getComponent(BodyComponent.class).setIs(BodySense.FEET_ON_GROUND));
+        onContinue(FixtureType.HEAD, FixtureType.BLOCK, (contact, delta) ->
+                contact.mask1stEntity().getComponent(BodyComponent.class).setIs(BodySense.HEAD_TOUCHING_BLOCK));
+        onEnd(FixtureType.FEET, FixtureType.BLOCK, (contact, delta) ->
+                contact.mask1stEntity().getComponent(BodyComponent.class).setIsNot(BodySense.FEET_ON_GROUND));
+        onEnd(FixtureType.HEAD, FixtureType.BLOCK, (contact, delta) ->
+                contact.mask1stEntity().getComponent(BodyComponent.class).setIsNot(BodySense.HEAD_TOUCHING_BLOCK));
     }
 
 }
@@ -3,48 +3,197 @@ package com.game.world;
 import com.badlogic.gdx.math.Intersector;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.IntArray;
+import com.game.Archetype;
+import com.game.ArchetypeSystem;
+import com.game.ComponentType;
 import com.game.System;
 import com.game.core.IEntity;
 import com.game.updatables.Updatable;
 import com.game.utils.UtilMethods;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * {@link System} implementation that handles the logic of the "game world physics", i.e. gravity, collision handling,
- * and contact-event-handling.
+ * and contact-event-handling. Only the candidate pairs reported by the {@link Broadphase} are tested for collisions
+ * and contacts.
+ * <p>
+ * {@link BodyType#STATIC} bodies that have neither moved nor had gravity since they were added, e.g. level blocks, are
+ * kept in a {@link StaticBodyTree} that is only rebuilt when one of them is added, removed, or set. The tree holds them
+ * whatever room they are in, so it is not rebuilt when the active room changes. They are not integrated, are left out
+ * of the broadphase, and are only tested against the moving bodies whose bounds overlap them in the tree.
+ * <p>
+ * {@link BodyType#DYNAMIC} bodies are swept against the static tree and the moving solid bodies, e.g. kinematic
+ * platforms, each step. If a body would pass through a solid body without overlapping it at the end of the step, then
+ * it is stopped just inside the solid body at the time of impact and is resolved by the regular collision handling.
+ * Fast bodies therefore cannot tunnel through thin blocks or platforms, which makes it possible to run the world at a
+ * larger {@link #getFixedTimeStep()}.
+ * <p>
+ * The world can be queried for the bodies or fixtures in an area, for the first fixture along a segment, and for the
+ * nearest fixture of a {@link FixtureType}. Queries use the static tree for static bodies and the moving bodies of the
+ * last update, fill caller-supplied buffers, and do not allocate. The moving bodies are scanned linearly rather than
+ * through the {@link Broadphase}, since the broadphase bounds are taken before collisions are resolved and game code
+ * may move bodies between updates; there are far fewer moving bodies than static ones. Queries read the bodies
+ * directly, so they should only be called while this system is not updating, e.g. from systems that do not run
+ * concurrently with it.
+ * <p>
+ * Moving bodies outside the active area of the {@link RoomPartition} are frozen: they are not integrated, not tested
+ * for collisions or contacts, and not queried. Bodies that are {@link BodyComponent#isSteppedWhenDistant()} are instead
+ * simulated on every {@link #getDistantStepInterval()}th update, i.e. at a lower rate.
+ * <p>
+ * At most {@link #getMaxSubsteps()} steps are run per update, so that a long frame, e.g. after loading assets, does
+ * not make the next frames longer still. The steps over budget are dropped, slowing down time for that update, unless
+ * {@link #isCarryOverSteps()} is set, in which case up to max substeps of them are run in later updates and the rest
+ * are dropped. Counters of each update are in {@link #getTelemetry()}.
+ * <p>
+ * The fixtures of the candidate pairs are tested for contact in chunks on the fork join pool once there are enough
+ * pairs. Contacts are merged and sorted before any {@link WorldContactListener} callback, so callbacks still run on
+ * one thread in a deterministic order.
  */
-public class WorldSystem extends System {
+public class WorldSystem extends ArchetypeSystem {
 
-    private final Set<Contact> priorContacts = new HashSet<>();
-    private final Set<Contact> currentContacts = new HashSet<>();
+    public static final int DEFAULT_MAX_SUBSTEPS = 8;
+    public static final int DEFAULT_NARROWPHASE_CHUNK_SIZE = 256;
+
+    private static final WorldContactListener NO_OP_CONTACT_LISTENER = new WorldContactListener() {
+
+        @Override
+        public void beginContact(Contact contact, float delta) {
+        }
+
+        @Override
+        public void continueContact(Contact contact, float delta) {
+        }
+
+        @Override
+        public void endContact(Contact contact, float delta) {
+        }
+
+    };
+
+    private final int bodyIndex = ComponentType.getIndex(BodyComponent.class);
+    private final ArrayDeque<Contact> contactPool = new ArrayDeque<>();
+    private ContactSet priorContacts = new ContactSet(contactPool);
+    private ContactSet currentContacts = new ContactSet(contactPool);
     private final List<BodyComponent> bodies = new ArrayList<>();
+    private final List<BodyComponent> movingBodies = new ArrayList<>();
+    private final List<BodyComponent> fixedBodies = new ArrayList<>();
+    private final List<BodyComponent> awakeBodies = new ArrayList<>();
+    private final List<BodyComponent> solidMovingBodies = new ArrayList<>();
+    private final BodyStore bodyStore = new BodyStore();
     private final List<Updatable> postProcess = new ArrayList<>();
+    private final Broadphase broadphase;
+    private final BodyPairBuffer pairs = new BodyPairBuffer();
+    private final BodyPairBuffer staticPairs = new BodyPairBuffer();
+    @Getter(AccessLevel.PACKAGE)
+    private final StaticBodyTree staticBodyTree = new StaticBodyTree();
+    private final IntArray staticHits = new IntArray();
+    private final Rectangle overlap = new Rectangle();
+    private Rectangle[] bounds = new Rectangle[0];
+    private int[] boundsIds = new int[0];
     private final WorldContactListener worldContactListener;
+    private final FixtureTypeFilter fixtureTypeFilter;
     private final Vector2 airResistance;
-    private final float fixedTimeStep;
+    private final Rectangle swept = new Rectangle();
+    private final IntArray sweepHits = new IntArray();
+    private float sweepImpact;
+    private boolean sweepImpactOnX;
+    private BodyComponent sweepHit;
+    private final IntArray queryHits = new IntArray();
+    private final Rectangle queryArea = new Rectangle();
+    private final RaycastHit lineOfSightHit = new RaycastHit();
+    @Getter
+    private final RoomPartition roomPartition = new RoomPartition();
+    @Getter
+    @Setter
+    private float fixedTimeStep;
+    @Getter
+    @Setter
+    private int distantStepInterval = 8;
+    @Getter
+    @Setter
+    private int maxSubsteps = DEFAULT_MAX_SUBSTEPS;
+    @Getter
+    @Setter
+    private boolean carryOverSteps;
+    @Getter
+    private final WorldTelemetry telemetry = new WorldTelemetry();
+    private final List<FixturePairBuffer> fixturePairBuffers = new ArrayList<>();
+    private final List<ForkJoinTask<?>> narrowphaseTasks = new ArrayList<>();
+    @Getter
+    @Setter
+    private int narrowphaseChunkSize = DEFAULT_NARROWPHASE_CHUNK_SIZE;
+    private int updateCount;
     private float accumulator;
+    private float contactDelta;
 
     public WorldSystem(WorldContactListener worldContactListener, Vector2 airResistance, float fixedTimeStep) {
+        this(worldContactListener, airResistance, fixedTimeStep, new SpatialHashBroadphase());
+    }
+
+    public WorldSystem(WorldContactListener worldContactListener, Vector2 airResistance, float fixedTimeStep,
+                       Broadphase broadphase) {
         super(Set.of(BodyComponent.class));
         this.airResistance = airResistance;
         this.fixedTimeStep = fixedTimeStep;
-        this.worldContactListener = worldContactListener;
+        // screens that only need movement and collision pass no listener
+        this.worldContactListener = worldContactListener != null ? worldContactListener : NO_OP_CONTACT_LISTENER;
+        this.fixtureTypeFilter = this.worldContactListener.getFixtureTypeFilter();
+        this.broadphase = broadphase;
     }
 
     @Override
     protected void preProcess(float delta) {
+        updateCount++;
         postProcess.clear();
         bodies.clear();
     }
 
     @Override
     protected void processEntity(IEntity entity, float delta) {
-        BodyComponent bodyComponent = entity.getComponent(BodyComponent.class);
+        processBody(entity.getComponent(BodyComponent.class), delta);
+    }
+
+    @Override
+    protected void processArchetype(Archetype archetype, float delta) {
+        IEntity[] entities = archetype.getEntities();
+        BodyComponent[] bodyComponents = archetype.getColumn(bodyIndex);
+        for (int i = 0; i < archetype.getSize(); i++) {
+            if (!entities[i].isDead()) {
+                processBody(bodyComponents[i], delta);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The prior contacts of the fixtures of the entity are ended right away with the delta time of the update that
+     * found them, instead of by the next update. A dead entity may be reset and revived by the entity pool before the
+     * next update, and its fixtures would otherwise still be in the prior contacts when it is spawned again.
+     *
+     * @param entity the entity
+     */
+    @Override
+    public void removeEntity(IEntity entity) {
+        super.removeEntity(entity);
+        priorContacts.removeIf(contact -> contact.getFixture1().getEntity() == entity ||
+                contact.getFixture2().getEntity() == entity,
+                contact -> worldContactListener.endContact(contact, contactDelta));
+    }
+
+    private void processBody(BodyComponent bodyComponent, float delta) {
         bodies.add(bodyComponent);
+        bodyComponent.setLastUpdate(updateCount);
         bodyComponent.setPriorCollisionBoxToCurrent();
         if (bodyComponent.getPreProcess() != null) {
             bodyComponent.getPreProcess().update(delta);
@@ -56,96 +205,632 @@ public class WorldSystem extends System {
 
     @Override
     protected void postProcess(float delta) {
-        // ImpulseMovement and collision handling is time-stepped
+        // Bodies outside the active rooms are frozen unless they are stepped at a lower rate on this update
+        boolean distantStep = updateCount % Math.max(1, distantStepInterval) == 0;
+        movingBodies.clear();
+        fixedBodies.clear();
+        boolean treeChanged = false;
+        for (int i = 0; i < bodies.size(); i++) {
+            BodyComponent bodyComponent = bodies.get(i);
+            bodyComponent.markStepStart();
+            if (!bodyComponent.isSleeping()) {
+                bodyComponent.setWoken(true);
+            }
+            // Fixed bodies are kept in the tree whatever room they are in, so that it is not rebuilt on room changes
+            if (isFixed(bodyComponent)) {
+                fixedBodies.add(bodyComponent);
+                treeChanged |= !staticBodyTree.isUpToDate(bodyComponent);
+                continue;
+            }
+            if (!roomPartition.isActive(bodyComponent.getCollisionBox()) &&
+                    !(distantStep && bodyComponent.isSteppedWhenDistant())) {
+                continue;
+            }
+            movingBodies.add(bodyComponent);
+        }
+        // Fixed bodies are only put in the tree again if one was added, removed, or set since the last frame
+        if (treeChanged || fixedBodies.size() != staticBodyTree.size()) {
+            staticBodyTree.build(fixedBodies);
+        }
+        // ImpulseMovement and collision handling is time-stepped, at most max substeps per update
+        telemetry.reset();
+        // Velocities and resistances of the awake bodies live in the body store until the last step has run. Sleeping
+        // bodies stay asleep during the update since only integration changes velocities between steps.
+        awakeBodies.clear();
+        solidMovingBodies.clear();
+        for (int i = 0; i < movingBodies.size(); i++) {
+            BodyComponent bodyComponent = movingBodies.get(i);
+            if (!bodyComponent.isSleeping()) {
+                awakeBodies.add(bodyComponent);
+            }
+            if (isSolid(bodyComponent)) {
+                solidMovingBodies.add(bodyComponent);
+            }
+        }
+        bodyStore.load(awakeBodies);
         accumulator += delta;
-        while (accumulator >= fixedTimeStep) {
+        int substeps = 0;
+        while (accumulator >= fixedTimeStep && substeps < maxSubsteps) {
             accumulator -= fixedTimeStep;
-            // Apply forces
-            bodies.forEach(bodyComponent -> {
-                // If below .25 speed, then set to 0
-                if (Math.abs(bodyComponent.getVelocity().x) < .25f) {
-                    bodyComponent.setVelocityX(0f);
-                }
-                if (Math.abs(bodyComponent.getVelocity().y) < .25f) {
-                    bodyComponent.setVelocityY(0f);
-                }
-                // Apply resistance
-                if (bodyComponent.isAffectedByResistance()) {
-                    bodyComponent.getVelocity().x /= Math.max(1f, bodyComponent.getResistance().x);
-                    bodyComponent.getVelocity().y /= Math.max(1f, bodyComponent.getResistance().y);
-                }
-                // Reset resistance
+            step();
+            substeps++;
+        }
+        bodyStore.store(awakeBodies);
+        if (accumulator >= fixedTimeStep) {
+            // The steps over budget are either carried over to the next updates or dropped, which slows down time. At
+            // most one update worth of steps is carried over, so that a stall does not speed up time for long after.
+            int overBudget = (int) (accumulator / fixedTimeStep);
+            int carried = 0;
+            if (carryOverSteps) {
+                carried = Math.min(overBudget, maxSubsteps);
+                accumulator = Math.min(accumulator, maxSubsteps * fixedTimeStep);
+            } else {
+                accumulator %= fixedTimeStep;
+            }
+            telemetry.recordBudgetExceeded(carried, overBudget - carried);
+        }
+        // Both sets are sorted by key, so begin and continue contacts and then end contacts are found by merge walks
+        contactDelta = delta;
+        currentContacts.sort();
+        telemetry.recordContacts(currentContacts.size());
+        int prior = 0;
+        for (int current = 0; current < currentContacts.size(); current++) {
+            long key = currentContacts.key(current);
+            while (prior < priorContacts.size() && priorContacts.key(prior) < key) {
+                prior++;
+            }
+            if (prior < priorContacts.size() && priorContacts.key(prior) == key) {
+                worldContactListener.continueContact(currentContacts.get(current), delta);
+            } else {
+                worldContactListener.beginContact(currentContacts.get(current), delta);
+            }
+        }
+        int current = 0;
+        for (prior = 0; prior < priorContacts.size(); prior++) {
+            long key = priorContacts.key(prior);
+            while (current < currentContacts.size() && currentContacts.key(current) < key) {
+                current++;
+            }
+            if (current == currentContacts.size() || currentContacts.key(current) != key) {
+                worldContactListener.endContact(priorContacts.get(prior), delta);
+            }
+        }
+        // The current contacts become the prior contacts, and the prior contacts are returned to the pool
+        priorContacts.clear();
+        ContactSet temp = priorContacts;
+        priorContacts = currentContacts;
+        currentContacts = temp;
+        postProcess.forEach(postProcessable -> postProcessable.update(delta));
+    }
+
+    /**
+     * Advances the moving bodies by one fixed time step and collects the contacts of the step.
+     */
+    private void step() {
+        // Apply forces, sleeping bodies are not integrated
+        for (int i = 0; i < movingBodies.size(); i++) {
+            BodyComponent bodyComponent = movingBodies.get(i);
+            bodyComponent.markStepStart();
+            if (bodyComponent.getStoreIndex() < 0) {
                 bodyComponent.setResistance(airResistance);
-                // If gravity on: if colliding down, minimum gravity is -5f, otherwise apply gravity
-                // If gravity off: set to zero
-                if (bodyComponent.isGravityOn()) {
-                    bodyComponent.applyImpulse(0f, bodyComponent.getGravity() * fixedTimeStep);
-                    if (bodyComponent.is(BodySense.FEET_ON_GROUND)) {
-                        bodyComponent.setVelocityY(Math.max(-5f, bodyComponent.getVelocity().y));
-                    }
-                }
-                // Translate
-                bodyComponent.translate(bodyComponent.getVelocity().x * fixedTimeStep,
-                        bodyComponent.getVelocity().y * fixedTimeStep);
+                bodyComponent.syncFixtures();
+            }
+        }
+        bodyStore.integrate(fixedTimeStep);
+        // Reset resistance
+        bodyStore.setResistance(airResistance);
+        // Translate the bodies that are not dynamic first, so that dynamic bodies are swept against where the kinematic
+        // bodies are moved to in this step
+        for (int i = 0; i < awakeBodies.size(); i++) {
+            BodyComponent bodyComponent = awakeBodies.get(i);
+            if (bodyComponent.getBodyType() != BodyType.DYNAMIC) {
+                bodyComponent.translate(bodyStore.getVelocityX(i) * fixedTimeStep,
+                        bodyStore.getVelocityY(i) * fixedTimeStep);
                 // Each Fixture is moved to conform to its position center from the center of the Body Component
-                bodyComponent.getFixtures().forEach(fixture -> {
-                    Vector2 center = bodyComponent.getCenter();
-                    center.add(fixture.getOffset());
-                    fixture.setCenter(center);
-                });
-            });
-            // Handle collisions
-            for (int i = 0; i < bodies.size(); i++) {
-                for (int j = i + 1; j < bodies.size(); j++) {
-                    BodyComponent bc1 = bodies.get(i);
-                    BodyComponent bc2 = bodies.get(j);
-                    Rectangle overlap = new Rectangle();
-                    if (Intersector.intersectRectangles(bc1.getCollisionBox(), bc2.getCollisionBox(), overlap)) {
-                        handleCollision(bc1, bc2, overlap);
-                    }
+                bodyComponent.syncFixtures();
+            }
+        }
+        for (int i = 0; i < awakeBodies.size(); i++) {
+            BodyComponent bodyComponent = awakeBodies.get(i);
+            if (bodyComponent.getBodyType() != BodyType.DYNAMIC) {
+                continue;
+            }
+            // Translate, dynamic bodies are swept against the solid bodies so they cannot tunnel through them
+            float dx = bodyStore.getVelocityX(i) * fixedTimeStep;
+            float dy = bodyStore.getVelocityY(i) * fixedTimeStep;
+            if (dx != 0f || dy != 0f) {
+                translateSwept(bodyComponent, dx, dy);
+            }
+            bodyComponent.syncFixtures();
+        }
+        // Carry riders by the displacement of their kinematic parents during this step, riders of parents that died or
+        // left the world are dropped instead
+        for (int i = 0; i < movingBodies.size(); i++) {
+            BodyComponent bodyComponent = movingBodies.get(i);
+            BodyComponent parent = bodyComponent.getParent();
+            if (parent == null) {
+                continue;
+            }
+            if (parent.getLastUpdate() != updateCount) {
+                bodyComponent.clearParent();
+            } else {
+                bodyComponent.translate(parent.getStepDeltaX(), parent.getStepDeltaY());
+                bodyComponent.syncFixtures();
+            }
+        }
+        // Find candidate pairs among the moving bodies, and between moving bodies and the static tree
+        updateBounds();
+        pairs.clear();
+        broadphase.findPairs(bounds, boundsIds, movingBodies.size(), pairs);
+        staticPairs.clear();
+        for (int i = 0; i < movingBodies.size(); i++) {
+            staticHits.clear();
+            staticBodyTree.query(bounds[i], staticHits);
+            for (int k = 0; k < staticHits.size; k++) {
+                staticPairs.addOrdered(i, staticHits.get(k));
+            }
+        }
+        // Handle collisions
+        long resolutionStart = java.lang.System.nanoTime();
+        for (int k = 0; k < pairs.size(); k++) {
+            collide(movingBodies.get(pairs.first(k)), movingBodies.get(pairs.second(k)));
+        }
+        for (int k = 0; k < staticPairs.size(); k++) {
+            collide(movingBodies.get(staticPairs.first(k)), staticBodyTree.get(staticPairs.second(k)));
+        }
+        for (int i = 0; i < movingBodies.size(); i++) {
+            BodyComponent bodyComponent = movingBodies.get(i);
+            if (bodyComponent.getBodyType() == BodyType.DYNAMIC) {
+                bodyComponent.resolveParent();
+            }
+        }
+        // Find contacts, in chunks of pairs on the fork join pool if there are enough pairs
+        findContacts();
+        telemetry.recordSubstep(pairs.size() + staticPairs.size(),
+                java.lang.System.nanoTime() - resolutionStart);
+    }
+
+    /**
+     * Adds every body whose collision box overlaps or touches the area to the output.
+     *
+     * @param area the area
+     * @param out  the output
+     */
+    public void queryBodies(Rectangle area, List<BodyComponent> out) {
+        queryHits.clear();
+        staticBodyTree.query(area, queryHits);
+        for (int k = 0; k < queryHits.size; k++) {
+            BodyComponent bodyComponent = staticBodyTree.get(queryHits.get(k));
+            if (UtilMethods.overlaps(bodyComponent.getCollisionBox(), area)) {
+                out.add(bodyComponent);
+            }
+        }
+        for (int i = 0; i < movingBodies.size(); i++) {
+            BodyComponent bodyComponent = movingBodies.get(i);
+            if (UtilMethods.overlaps(bodyComponent.getCollisionBox(), area)) {
+                out.add(bodyComponent);
+            }
+        }
+    }
+
+    /**
+     * Adds every active fixture of the fixture type whose box overlaps or touches the area to the output. Fixtures of
+     * dead entities are skipped.
+     *
+     * @param area        the area
+     * @param fixtureType the fixture type
+     * @param out         the output
+     */
+    public void queryFixtures(Rectangle area, FixtureType fixtureType, List<Fixture> out) {
+        queryHits.clear();
+        staticBodyTree.query(area, queryHits);
+        for (int k = 0; k < queryHits.size; k++) {
+            addFixtures(staticBodyTree.get(queryHits.get(k)), area, fixtureType, out);
+        }
+        for (int i = 0; i < movingBodies.size(); i++) {
+            addFixtures(movingBodies.get(i), area, fixtureType, out);
+        }
+    }
+
+    /**
+     * Finds the first active fixture of the fixture type along the segment.
+     *
+     * @param from        the start of the segment
+     * @param to          the end of the segment
+     * @param fixtureType the fixture type
+     * @param hit         the output, holds the fixture, fraction, and point of the hit if one is found
+     * @return if a fixture is hit
+     */
+    public boolean raycast(Vector2 from, Vector2 to, FixtureType fixtureType, RaycastHit hit) {
+        hit.clear();
+        queryArea.set(Math.min(from.x, to.x), Math.min(from.y, to.y),
+                Math.abs(to.x - from.x), Math.abs(to.y - from.y));
+        queryHits.clear();
+        staticBodyTree.query(queryArea, queryHits);
+        for (int k = 0; k < queryHits.size; k++) {
+            raycast(staticBodyTree.get(queryHits.get(k)), from, to, fixtureType, hit);
+        }
+        for (int i = 0; i < movingBodies.size(); i++) {
+            raycast(movingBodies.get(i), from, to, fixtureType, hit);
+        }
+        return hit.getFixture() != null;
+    }
+
+    /**
+     * Returns if no {@link FixtureType#BLOCK} fixture is along the segment.
+     *
+     * @param from the start of the segment
+     * @param to   the end of the segment
+     * @return if there is line of sight
+     */
+    public boolean hasLineOfSight(Vector2 from, Vector2 to) {
+        return !raycast(from, to, FixtureType.BLOCK, lineOfSightHit);
+    }
+
+    /**
+     * Returns the active fixture of the fixture type whose center is nearest to the point and at most the max distance
+     * away, or null if there is none.
+     *
+     * @param point       the point
+     * @param fixtureType the fixture type
+     * @param maxDistance the max distance
+     * @return the nearest fixture or null
+     */
+    public Fixture nearestFixture(Vector2 point, FixtureType fixtureType, float maxDistance) {
+        queryArea.set(point.x - maxDistance, point.y - maxDistance, maxDistance * 2f, maxDistance * 2f);
+        queryHits.clear();
+        staticBodyTree.query(queryArea, queryHits);
+        Fixture nearest = null;
+        float nearestDistance2 = maxDistance * maxDistance;
+        int candidates = queryHits.size + movingBodies.size();
+        for (int k = 0; k < candidates; k++) {
+            BodyComponent bodyComponent = k < queryHits.size ? staticBodyTree.get(queryHits.get(k)) :
+                    movingBodies.get(k - queryHits.size);
+            List<Fixture> fixtures = bodyComponent.getFixtures();
+            for (int j = 0; j < fixtures.size(); j++) {
+                Fixture fixture = fixtures.get(j);
+                if (fixture.getFixtureType() != fixtureType || !fixture.isActive() || fixture.getEntity().isDead()) {
+                    continue;
+                }
+                Rectangle box = fixture.getFixtureBox();
+                float distanceX = box.x + box.width / 2f - point.x;
+                float distanceY = box.y + box.height / 2f - point.y;
+                float distance2 = distanceX * distanceX + distanceY * distanceY;
+                if (distance2 <= nearestDistance2) {
+                    nearest = fixture;
+                    nearestDistance2 = distance2;
                 }
             }
-            for (int i = 0; i < bodies.size(); i++) {
-                for (int j = i + 1; j < bodies.size(); j++) {
-                    for (Fixture f1 : bodies.get(i).getFixtures()) {
-                        if (f1.isActive() && !f1.getEntity().isDead()) {
-                            for (Fixture f2 : bodies.get(j).getFixtures()) {
-                                if (f2.isActive() && !f2.getEntity().isDead()) {
-                                    if (UtilMethods.overlaps(f1.getFixtureBox(), f2.getFixtureBox())) {
-                                        currentContacts.add(new Contact(f1, f2));
-                                    }
-                                }
-                            }
+        }
+        return nearest;
+    }
+
+    private void addFixtures(BodyComponent bodyComponent, Rectangle area, FixtureType fixtureType,
+                             List<Fixture> out) {
+        List<Fixture> fixtures = bodyComponent.getFixtures();
+        for (int j = 0; j < fixtures.size(); j++) {
+            Fixture fixture = fixtures.get(j);
+            if (fixture.getFixtureType() == fixtureType && fixture.isActive() && !fixture.getEntity().isDead() &&
+                    UtilMethods.overlaps(fixture.getFixtureBox(), area)) {
+                out.add(fixture);
+            }
+        }
+    }
+
+    private void raycast(BodyComponent bodyComponent, Vector2 from, Vector2 to, FixtureType fixtureType,
+                         RaycastHit hit) {
+        List<Fixture> fixtures = bodyComponent.getFixtures();
+        for (int j = 0; j < fixtures.size(); j++) {
+            Fixture fixture = fixtures.get(j);
+            if (fixture.getFixtureType() != fixtureType || !fixture.isActive() || fixture.getEntity().isDead()) {
+                continue;
+            }
+            float fraction = segmentEntry(fixture.getFixtureBox(), from, to);
+            if (fraction >= 0f && (hit.getFixture() == null || fraction < hit.getFraction())) {
+                hit.set(fixture, fraction, from, to);
+            }
+        }
+    }
+
+    /**
+     * Returns the fraction of the segment at which it enters the rectangle, 0 if it starts inside, or -1 if the
+     * segment misses the rectangle.
+     *
+     * @param rect the rectangle
+     * @param from the start of the segment
+     * @param to   the end of the segment
+     * @return the entry fraction or -1
+     */
+    private static float segmentEntry(Rectangle rect, Vector2 from, Vector2 to) {
+        float entry = 0f;
+        float exit = 1f;
+        float dx = to.x - from.x;
+        if (dx == 0f) {
+            if (from.x < rect.x || from.x > rect.x + rect.width) {
+                return -1f;
+            }
+        } else {
+            float t1 = (rect.x - from.x) / dx;
+            float t2 = (rect.x + rect.width - from.x) / dx;
+            entry = Math.max(entry, Math.min(t1, t2));
+            exit = Math.min(exit, Math.max(t1, t2));
+        }
+        float dy = to.y - from.y;
+        if (dy == 0f) {
+            if (from.y < rect.y || from.y > rect.y + rect.height) {
+                return -1f;
+            }
+        } else {
+            float t1 = (rect.y - from.y) / dy;
+            float t2 = (rect.y + rect.height - from.y) / dy;
+            entry = Math.max(entry, Math.min(t1, t2));
+            exit = Math.min(exit, Math.max(t1, t2));
+        }
+        return entry <= exit ? entry : -1f;
+    }
+
+    /**
+     * Translates the body unless it would pass through a solid body without overlapping it afterwards. The body is
+     * swept against the static bodies in the tree and against the solid moving bodies, e.g. kinematic platforms, using
+     * the motion of the body relative to each of them in this step. If it would pass through one, it is moved to the
+     * time of impact with the first solid body it would hit, carried along with that body for the rest of the step,
+     * and then moved into it along the axis of impact by at most half the thickness of either body, so the collision
+     * is resolved as usual. The parent of the body is skipped since the body is carried by it after the translation.
+     *
+     * @param bodyComponent the body
+     * @param dx            the x displacement
+     * @param dy            the y displacement
+     */
+    private void translateSwept(BodyComponent bodyComponent, float dx, float dy) {
+        Rectangle box = bodyComponent.getCollisionBox();
+        swept.set(Math.min(box.x, box.x + dx), Math.min(box.y, box.y + dy),
+                box.width + Math.abs(dx), box.height + Math.abs(dy));
+        sweepHits.clear();
+        staticBodyTree.query(swept, sweepHits);
+        sweepImpact = 1f;
+        sweepImpactOnX = false;
+        sweepHit = null;
+        for (int k = 0; k < sweepHits.size; k++) {
+            sweep(box, dx, dy, staticBodyTree.get(sweepHits.get(k)));
+        }
+        for (int i = 0; i < solidMovingBodies.size(); i++) {
+            BodyComponent other = solidMovingBodies.get(i);
+            if (other != bodyComponent.getParent()) {
+                sweep(box, dx, dy, other);
+            }
+        }
+        if (sweepHit == null) {
+            bodyComponent.translate(dx, dy);
+            return;
+        }
+        // If the body overlaps the first body it hits at the end of the step, the step resolves it as usual
+        Rectangle hit = sweepHit.getCollisionBox();
+        float endX = box.x + dx;
+        float endY = box.y + dy;
+        if (endX < hit.x + hit.width && endX + box.width > hit.x &&
+                endY < hit.y + hit.height && endY + box.height > hit.y) {
+            bodyComponent.translate(dx, dy);
+            return;
+        }
+        float hitDx = sweepHit.getStepDeltaX();
+        float hitDy = sweepHit.getStepDeltaY();
+        bodyComponent.translate(dx * sweepImpact + hitDx * (1f - sweepImpact),
+                dy * sweepImpact + hitDy * (1f - sweepImpact));
+        if (sweepImpactOnX) {
+            float relativeDx = dx - hitDx;
+            float depth = Math.min(Math.abs(relativeDx) * (1f - sweepImpact), Math.min(box.width, hit.width) / 2f);
+            bodyComponent.translate(Math.signum(relativeDx) * depth, 0f);
+        } else {
+            float relativeDy = dy - hitDy;
+            float depth = Math.min(Math.abs(relativeDy) * (1f - sweepImpact), Math.min(box.height, hit.height) / 2f);
+            bodyComponent.translate(0f, Math.signum(relativeDy) * depth);
+        }
+    }
+
+    /**
+     * Sweeps the box by the displacement against the other body, relative to where the other body started the step
+     * and how far it has moved since, and records the impact if it is earlier than the first impact so far.
+     */
+    private void sweep(Rectangle box, float dx, float dy, BodyComponent other) {
+        Rectangle end = other.getCollisionBox();
+        float otherDx = other.getStepDeltaX();
+        float otherDy = other.getStepDeltaY();
+        float otherX = end.x - otherDx;
+        float otherY = end.y - otherDy;
+        float relativeDx = dx - otherDx;
+        float relativeDy = dy - otherDy;
+        if (box.x < otherX + end.width && box.x + box.width > otherX &&
+                box.y < otherY + end.height && box.y + box.height > otherY) {
+            return;
+        }
+        float entryX;
+        float exitX;
+        if (relativeDx > 0f) {
+            entryX = (otherX - (box.x + box.width)) / relativeDx;
+            exitX = (otherX + end.width - box.x) / relativeDx;
+        } else if (relativeDx < 0f) {
+            entryX = (otherX + end.width - box.x) / relativeDx;
+            exitX = (otherX - (box.x + box.width)) / relativeDx;
+        } else if (box.x < otherX + end.width && box.x + box.width > otherX) {
+            entryX = Float.NEGATIVE_INFINITY;
+            exitX = Float.POSITIVE_INFINITY;
+        } else {
+            return;
+        }
+        float entryY;
+        float exitY;
+        if (relativeDy > 0f) {
+            entryY = (otherY - (box.y + box.height)) / relativeDy;
+            exitY = (otherY + end.height - box.y) / relativeDy;
+        } else if (relativeDy < 0f) {
+            entryY = (otherY + end.height - box.y) / relativeDy;
+            exitY = (otherY - (box.y + box.height)) / relativeDy;
+        } else if (box.y < otherY + end.height && box.y + box.height > otherY) {
+            entryY = Float.NEGATIVE_INFINITY;
+            exitY = Float.POSITIVE_INFINITY;
+        } else {
+            return;
+        }
+        float entry = Math.max(entryX, entryY);
+        float exit = Math.min(exitX, exitY);
+        if (entry < exit && entry >= 0f && entry < sweepImpact) {
+            sweepImpact = entry;
+            sweepImpactOnX = entryX > entryY;
+            sweepHit = other;
+        }
+    }
+
+    private float getVelocityY(BodyComponent bodyComponent) {
+        int index = bodyComponent.getStoreIndex();
+        return index >= 0 ? bodyStore.getVelocityY(index) : bodyComponent.getVelocity().y;
+    }
+
+    private void applyResistanceX(BodyComponent bodyComponent, float x) {
+        int index = bodyComponent.getStoreIndex();
+        if (index >= 0) {
+            bodyStore.applyResistanceX(index, x);
+        } else {
+            bodyComponent.applyResistanceX(x);
+        }
+    }
+
+    private static boolean isSolid(BodyComponent bodyComponent) {
+        return bodyComponent.getBodyType() == BodyType.STATIC || bodyComponent.getBodyType() == BodyType.KINEMATIC;
+    }
+
+    private static void landOn(BodyComponent rider, BodyComponent bodyComponent) {
+        if (bodyComponent.getBodyType() == BodyType.KINEMATIC) {
+            rider.setNextParent(bodyComponent);
+        }
+    }
+
+    /**
+     * Returns if the body is static and has never been awake since it was added, and so can be kept in the
+     * {@link StaticBodyTree}. A static body that was given a velocity once stays out of the tree even while it is
+     * paused, so that pausing and resuming a platform does not rebuild the tree.
+     *
+     * @param bodyComponent the body
+     * @return if the body is fixed
+     */
+    private boolean isFixed(BodyComponent bodyComponent) {
+        return bodyComponent.getBodyType() == BodyType.STATIC && !bodyComponent.isWoken();
+    }
+
+    private void collide(BodyComponent bc1, BodyComponent bc2) {
+        if (Intersector.intersectRectangles(bc1.getCollisionBox(), bc2.getCollisionBox(), overlap)) {
+            handleCollision(bc1, bc2, overlap);
+        }
+    }
+
+    /**
+     * Tests the fixtures of every candidate pair for overlap and adds the overlapping ones to the current contacts. If
+     * there are at least {@link #getNarrowphaseChunkSize()} pairs, then the pairs are split into chunks that are tested
+     * concurrently, each into its own buffer. The buffers are merged in chunk order, so the contacts are the same as
+     * if the pairs had been tested sequentially.
+     * <p>
+     * Chunks are contiguous ranges of the pair buffers rather than cells of the broadphase. The broadphase reports
+     * each pair exactly once, sorted by body index, even if the bodies share several cells, and the static pairs come
+     * from the tree and have no cell at all. Any split of the ranges therefore tests every pair exactly once, chunks
+     * are evenly sized however the bodies are spread over cells, and the merged contacts do not depend on the
+     * broadphase in use.
+     */
+    private void findContacts() {
+        int pairCount = pairs.size() + staticPairs.size();
+        int chunkSize = Math.max(1, narrowphaseChunkSize);
+        if (pairCount < chunkSize) {
+            FixturePairBuffer buffer = nextFixturePairBuffer(0);
+            findContacts(0, pairCount, buffer);
+            buffer.drainTo(currentContacts);
+            return;
+        }
+        int chunkCount = 0;
+        try {
+            for (int from = 0; from < pairCount; from += chunkSize) {
+                int chunkFrom = from;
+                int chunkTo = Math.min(pairCount, from + chunkSize);
+                FixturePairBuffer buffer = nextFixturePairBuffer(chunkCount++);
+                narrowphaseTasks.add(ForkJoinTask.adapt(() -> findContacts(chunkFrom, chunkTo, buffer)));
+            }
+            ForkJoinTask.invokeAll(narrowphaseTasks);
+        } finally {
+            narrowphaseTasks.clear();
+        }
+        for (int i = 0; i < chunkCount; i++) {
+            fixturePairBuffers.get(i).drainTo(currentContacts);
+        }
+    }
+
+    /**
+     * Tests the candidate pairs from inclusive to exclusive, where the moving pairs are followed by the static pairs.
+     * Only reads the bodies and fixtures, so it can be called concurrently for disjoint ranges.
+     *
+     * @param from   the first pair, inclusive
+     * @param to     the last pair, exclusive
+     * @param buffer the buffer the overlapping fixtures are added to
+     */
+    private void findContacts(int from, int to, FixturePairBuffer buffer) {
+        for (int k = from; k < to; k++) {
+            if (k < pairs.size()) {
+                findContacts(movingBodies.get(pairs.first(k)), movingBodies.get(pairs.second(k)), buffer);
+            } else {
+                int index = k - pairs.size();
+                findContacts(movingBodies.get(staticPairs.first(index)),
+                        staticBodyTree.get(staticPairs.second(index)), buffer);
+            }
+        }
+    }
+
+    private FixturePairBuffer nextFixturePairBuffer(int index) {
+        if (index == fixturePairBuffers.size()) {
+            fixturePairBuffers.add(new FixturePairBuffer());
+        }
+        return fixturePairBuffers.get(index);
+    }
+
+    private void findContacts(BodyComponent bc1, BodyComponent bc2, FixturePairBuffer buffer) {
+        for (Fixture f1 : bc1.getFixtures()) {
+            if (f1.isActive() && !f1.getEntity().isDead()) {
+                for (Fixture f2 : bc2.getFixtures()) {
+                    // filter by fixture types and category bits before any geometry test
+                    if (fixtureTypeFilter.isAccepted(f1.getFixtureType(), f2.getFixtureType()) &&
+                            f1.canContact(f2) && f2.isActive() && !f2.getEntity().isDead()) {
+                        if (UtilMethods.overlaps(f1.getFixtureBox(), f2.getFixtureBox())) {
+                            buffer.add(f1, f2);
                         }
                     }
                 }
             }
         }
-        // Handle contacts in the current contacts set
-        currentContacts.forEach(contact -> {
-            if (priorContacts.contains(contact)) {
-                worldContactListener.continueContact(contact, delta);
-            } else {
-                worldContactListener.beginContact(contact, delta);
+    }
+
+    /**
+     * Sets the bounds of each moving body to the union of its collision box and its fixture boxes, and records the id
+     * of the body alongside.
+     */
+    private void updateBounds() {
+        if (bounds.length < movingBodies.size()) {
+            int oldLength = bounds.length;
+            bounds = Arrays.copyOf(bounds, Math.max(movingBodies.size(), oldLength * 2));
+            boundsIds = new int[bounds.length];
+            for (int i = oldLength; i < bounds.length; i++) {
+                bounds[i] = new Rectangle();
             }
-        });
-        // Handle contacts in the prior contacts set
-        priorContacts.forEach(contact -> {
-            if (!currentContacts.contains(contact)) {
-                worldContactListener.endContact(contact, delta);
+        }
+        for (int i = 0; i < movingBodies.size(); i++) {
+            BodyComponent bodyComponent = movingBodies.get(i);
+            boundsIds[i] = bodyComponent.getId();
+            Rectangle rect = bounds[i].set(bodyComponent.getCollisionBox());
+            List<Fixture> fixtures = bodyComponent.getFixtures();
+            for (int j = 0; j < fixtures.size(); j++) {
+                rect.merge(fixtures.get(j).getFixtureBox());
             }
-        });
-        // Move current contacts to prior contacts set, then clear the current contacts set
-        priorContacts.clear();
-        priorContacts.addAll(currentContacts);
-        currentContacts.clear();
-        postProcess.forEach(postProcessable -> postProcessable.update(delta));
+        }
     }
 
     /**
-     * Handles collision between {@link BodyType#DYNAMIC} and {@link BodyType#STATIC} {@link BodyComponent} instances
-     * where parameter bc1 should be dynamic and bc2 static. Dynamic body is adjusted out of collision and has static
-     * body's friction applied.
+     * Handles collision between {@link BodyType#DYNAMIC} and {@link BodyType#STATIC} or {@link BodyType#KINEMATIC}
+     * {@link BodyComponent} instances. Dynamic body is adjusted out of collision and has the other body's friction
+     * applied.
      *
      * @param bc1     the first body
      * @param bc2     the second body
@@ -154,45 +839,47 @@ public class WorldSystem extends System {
     private void handleCollision(BodyComponent bc1, BodyComponent bc2, Rectangle overlap) {
         if (overlap.getWidth() > overlap.getHeight()) {
             if (bc1.getCollisionBox().getY() > bc2.getCollisionBox().getY()) {
-                if (Math.ceil(bc1.getVelocity().y) < -1f) {
-                    bc1.applyResistanceX(bc2.getFriction().x);
+                if (Math.ceil(getVelocityY(bc1)) < -1f) {
+                    applyResistanceX(bc1, bc2.getFriction().x);
                 }
-                if (Math.floor(bc2.getVelocity().y) > 1f) {
-                    bc2.applyResistanceX(bc1.getFriction().x);
+                if (Math.floor(getVelocityY(bc2)) > 1f) {
+                    applyResistanceX(bc2, bc1.getFriction().x);
                 }
-                // If one is dynamic and the other static, handle collision
-                if (bc1.getBodyType() == BodyType.DYNAMIC && bc2.getBodyType() == BodyType.STATIC) {
+                // If one is dynamic and the other static or kinematic, handle collision
+                if (bc1.getBodyType() == BodyType.DYNAMIC && isSolid(bc2)) {
                     bc1.getCollisionBox().y += overlap.getHeight();
-                } else if (bc2.getBodyType() == BodyType.DYNAMIC && bc1.getBodyType() == BodyType.STATIC) {
+                    landOn(bc1, bc2);
+                } else if (bc2.getBodyType() == BodyType.DYNAMIC && isSolid(bc1)) {
                     bc2.getCollisionBox().y -= overlap.getHeight();
                 }
             } else {
-                if (Math.floor(bc1.getVelocity().y) > 1f) {
-                    bc1.applyResistanceX(bc2.getFriction().x);
+                if (Math.floor(getVelocityY(bc1)) > 1f) {
+                    applyResistanceX(bc1, bc2.getFriction().x);
                 }
-                if (Math.ceil(bc2.getVelocity().y) < -1f) {
-                    bc2.applyResistanceX(bc1.getFriction().x);
+                if (Math.ceil(getVelocityY(bc2)) < -1f) {
+                    applyResistanceX(bc2, bc1.getFriction().x);
                 }
-                // If one is dynamic and the other static, handle collision
-                if (bc1.getBodyType() == BodyType.DYNAMIC && bc2.getBodyType() == BodyType.STATIC) {
+                // If one is dynamic and the other static or kinematic, handle collision
+                if (bc1.getBodyType() == BodyType.DYNAMIC && isSolid(bc2)) {
                     bc1.getCollisionBox().y -= overlap.getHeight();
-                } else if (bc2.getBodyType() == BodyType.DYNAMIC && bc1.getBodyType() == BodyType.STATIC) {
+                } else if (bc2.getBodyType() == BodyType.DYNAMIC && isSolid(bc1)) {
                     bc2.getCollisionBox().y += overlap.getHeight();
+                    landOn(bc2, bc1);
                 }
             }
         } else {
             if (bc1.getCollisionBox().getX() > bc2.getCollisionBox().getX()) {
-                // If one is dynamic and the other static, handle collision
-                if (bc1.getBodyType() == BodyType.DYNAMIC && bc2.getBodyType() == BodyType.STATIC) {
+                // If one is dynamic and the other static or kinematic, handle collision
+                if (bc1.getBodyType() == BodyType.DYNAMIC && isSolid(bc2)) {
                     bc1.getCollisionBox().x += overlap.getWidth();
-                } else if (bc2.getBodyType() == BodyType.DYNAMIC && bc1.getBodyType() == BodyType.STATIC) {
+                } else if (bc2.getBodyType() == BodyType.DYNAMIC && isSolid(bc1)) {
                     bc2.getCollisionBox().x -= overlap.getWidth();
                 }
             } else {
-                // If one is dynamic and the other static, handle collision
-                if (bc1.getBodyType() == BodyType.DYNAMIC && bc2.getBodyType() == BodyType.STATIC) {
+                // If one is dynamic and the other static or kinematic, handle collision
+                if (bc1.getBodyType() == BodyType.DYNAMIC && isSolid(bc2)) {
                     bc1.getCollisionBox().x -= overlap.getWidth();
-                } else if (bc2.getBodyType() == BodyType.DYNAMIC && bc1.getBodyType() == BodyType.STATIC) {
+                } else if (bc2.getBodyType() == BodyType.DYNAMIC && isSolid(bc1)) {
                     bc2.getCollisionBox().x += overlap.getWidth();
                 }
             }
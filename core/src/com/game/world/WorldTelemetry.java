@@ -0,0 +1,49 @@
+package com.game.world;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Counters of the last update of {@link WorldSystem}, drawn by {@link com.game.debugging.SystemProfilerOverlay}.
+ * Besides the per-update counters, the number of updates that hit {@link WorldSystem#getMaxSubsteps()} is counted
+ * since the system was created. The steps over budget of an update are either carried over to the next updates or
+ * dropped, and are counted separately.
+ */
+@Getter
+@ToString
+public class WorldTelemetry {
+
+    private int substeps;
+    private int carriedSubsteps;
+    private int droppedSubsteps;
+    private int pairsTested;
+    private int contacts;
+    private long resolutionNanos;
+    private long budgetExceededCount;
+
+    void reset() {
+        substeps = 0;
+        carriedSubsteps = 0;
+        droppedSubsteps = 0;
+        pairsTested = 0;
+        contacts = 0;
+        resolutionNanos = 0L;
+    }
+
+    void recordSubstep(int pairsTested, long resolutionNanos) {
+        substeps++;
+        this.pairsTested += pairsTested;
+        this.resolutionNanos += resolutionNanos;
+    }
+
+    void recordBudgetExceeded(int carriedSubsteps, int droppedSubsteps) {
+        this.carriedSubsteps = carriedSubsteps;
+        this.droppedSubsteps = droppedSubsteps;
+        budgetExceededCount++;
+    }
+
+    void recordContacts(int contacts) {
+        this.contacts = contacts;
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.game;
+
+import com.game.core.IEntity;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class ArchetypeStoreTest {
+
+    @Test
+    public void locationsFollowEntitiesMovedBetweenArchetypes() {
+        ArchetypeStore archetypeStore = new ArchetypeStore();
+        Entity first = entity(new FirstComponent());
+        Entity second = entity(new FirstComponent());
+        Entity third = entity(new FirstComponent());
+        archetypeStore.update(first);
+        archetypeStore.update(second);
+        archetypeStore.update(third);
+        Archetype firstOnly = archetypeStore.getArchetype(first);
+
+        // the last row is moved into the row of the entity that changed archetype
+        first.addComponent(new SecondComponent());
+        archetypeStore.update(first);
+        assertNotSame(firstOnly, archetypeStore.getArchetype(first));
+        assertSame(firstOnly, archetypeStore.getArchetype(third));
+        assertSame(third, firstOnly.getEntities()[0]);
+        assertSame(second, firstOnly.getEntities()[1]);
+        assertEquals(2, firstOnly.getSize());
+
+        archetypeStore.remove(third);
+        assertEquals(ArchetypeStore.NO_LOCATION, third.getArchetypeLocation());
+        assertNull(archetypeStore.getArchetype(third));
+        assertSame(second, firstOnly.getEntities()[0]);
+        assertSame(firstOnly, archetypeStore.getArchetype(second));
+
+        archetypeStore.clear();
+        assertEquals(ArchetypeStore.NO_LOCATION, first.getArchetypeLocation());
+        assertEquals(ArchetypeStore.NO_LOCATION, second.getArchetypeLocation());
+    }
+
+    @Test
+    public void archetypeSystemMembersAreTheEntitiesOfMatchingArchetypes() {
+        EntitiesAndSystemsManager manager = new EntitiesAndSystemsManager();
+        RecordingSystem system = new RecordingSystem();
+        manager.addSystem(system);
+        Entity both = entity(new FirstComponent(), new SecondComponent());
+        Entity firstOnly = entity(new FirstComponent());
+        manager.addEntity(both);
+        manager.addEntity(firstOnly);
+        manager.updateSystems(0f);
+        assertTrue(system.entityIsMember(both));
+        assertTrue(system.entityIsMember(firstOnly));
+        assertEquals(2, system.getMemberCount());
+        assertEquals(2, system.processed.size());
+
+        firstOnly.setDead(true);
+        both.removeComponent(FirstComponent.class);
+        system.processed.clear();
+        manager.updateSystems(0f);
+        assertFalse(system.entityIsMember(both));
+        assertFalse(system.entityIsMember(firstOnly));
+        assertEquals(0, system.getMemberCount());
+        assertEquals(List.of(), system.processed);
+    }
+
+    private static Entity entity(Component... components) {
+        Entity entity = new Entity();
+        for (Component component : components) {
+            entity.addComponent(component);
+        }
+        return entity;
+    }
+
+    private static class FirstComponent implements Component {
+    }
+
+    private static class SecondComponent implements Component {
+    }
+
+    private static class RecordingSystem extends ArchetypeSystem {
+
+        private final List<IEntity> processed = new ArrayList<>();
+
+        private RecordingSystem() {
+            super(Set.of(FirstComponent.class));
+        }
+
+        @Override
+        protected void processEntity(IEntity entity, float delta) {
+            processed.add(entity);
+        }
+
+        @Override
+        protected void processArchetype(Archetype archetype, float delta) {
+            for (int i = 0; i < archetype.getSize(); i++) {
+                processed.add(archetype.getEntities()[i]);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.game;
+
+import com.game.core.IEntity;
+import org.junit.Test;
+
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class EntitiesAndSystemsManagerTest {
+
+    @Test
+    public void entitiesAddedOffTheMainThreadJoinTheEntitySetOnTheNextUpdate() throws Exception {
+        EntitiesAndSystemsManager manager = new EntitiesAndSystemsManager();
+        Entity entity = new Entity();
+        entity.addComponent(new TestComponent());
+        ForkJoinPool.commonPool().submit(() -> manager.addEntity(entity)).get();
+        // adding the same entity again before the membership update is ignored
+        manager.addEntity(entity);
+        assertTrue(manager.getEntities().isEmpty());
+        assertEquals(0, manager.getQuery(Set.of(TestComponent.class)).size());
+
+        manager.updateSystems(0f);
+        assertEquals(1, manager.getEntities().size());
+        assertSame(entity, manager.getQuery(Set.of(TestComponent.class)).get(0));
+        assertSame(entity, manager.getEntity(entity.getHandle()));
+    }
+
+    @Test
+    public void queriesCreatedLaterIncludeExistingEntitiesAndDropDeadOnes() {
+        EntitiesAndSystemsManager manager = new EntitiesAndSystemsManager();
+        Entity first = new Entity();
+        Entity second = new Entity();
+        manager.addEntity(first);
+        manager.addEntity(second);
+        manager.updateSystems(0f);
+
+        EntityQuery<IEntity> query = manager.getQuery(IEntity.class);
+        assertEquals(2, query.size());
+        second.setDead(true);
+        manager.updateSystems(0f);
+        assertEquals(1, query.size());
+        assertSame(first, query.get(0));
+        assertFalse(manager.getEntities().contains(second));
+    }
+
+    private static class TestComponent implements Component {
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.game;
+
+import com.game.core.IEntity;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class ParallelSystemTest {
+
+    private static final int ENTITY_COUNT = 1000;
+
+    @Test
+    public void deferredSideEffectsRunInRowOrderWhenChunksRunOnThePool() {
+        EntitiesAndSystemsManager manager = new EntitiesAndSystemsManager();
+        RecordingSystem first = new RecordingSystem(FirstComponent.class);
+        RecordingSystem second = new RecordingSystem(SecondComponent.class);
+        // both systems share a level, so their chunks are forked from inside tasks of the pool
+        manager.addSystem(first);
+        manager.addSystem(second);
+        List<IEntity> entities = new ArrayList<>();
+        for (int i = 0; i < ENTITY_COUNT; i++) {
+            Entity entity = new Entity();
+            entity.addComponent(new FirstComponent());
+            entity.addComponent(new SecondComponent());
+            manager.addEntity(entity);
+            entities.add(entity);
+        }
+        manager.updateSystems(0f);
+        assertEquals(entities, first.synced);
+        assertEquals(entities, second.synced);
+        assertTrue(first.syncedOnMainThread);
+        assertTrue(second.syncedOnMainThread);
+    }
+
+    @Test
+    public void unscheduledUpdatesSyncAtTheEndOfTheUpdateCycle() {
+        RecordingSystem system = new RecordingSystem(FirstComponent.class);
+        Entity entity = new Entity();
+        entity.addComponent(new FirstComponent());
+        system.addEntity(entity);
+        system.update(0f);
+        assertEquals(List.of(entity), system.synced);
+    }
+
+    private static class FirstComponent implements Component {
+    }
+
+    private static class SecondComponent implements Component {
+    }
+
+    private static class RecordingSystem extends ParallelSystem {
+
+        private final Thread mainThread = Thread.currentThread();
+        private final List<IEntity> synced = new ArrayList<>();
+        private boolean syncedOnMainThread = true;
+
+        private RecordingSystem(Class<? extends Component> componentClass) {
+            super(Set.of(componentClass));
+            declareAccess(getComponentMask(), getComponentMask());
+            setSequentialThreshold(64);
+        }
+
+        @Override
+        protected void processEntity(IEntity entity, float delta) {
+            record(entity);
+        }
+
+        @Override
+        protected void processRows(Archetype archetype, int from, int to, float delta) {
+            for (int i = from; i < to; i++) {
+                record(archetype.getEntities()[i]);
+            }
+        }
+
+        private void record(IEntity entity) {
+            defer(() -> {
+                syncedOnMainThread &= Thread.currentThread() == mainThread;
+                synced.add(entity);
+            });
+        }
+
+    }
+
+}
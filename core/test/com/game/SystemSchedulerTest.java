@@ -0,0 +1,89 @@
+package com.game;
+
+import com.game.core.IEntity;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+public class SystemSchedulerTest {
+
+    @Test
+    public void gameSystemsAreEachUpdatedInTheirOwnLevel() {
+        SystemScheduler systemScheduler = new SystemScheduler(ForkJoinPool.commonPool());
+        systemScheduler.build(MegamanMaverick.createSystems(null, null, null, null));
+        // only the health and trajectory systems declare their access, and every System between them runs callbacks
+        // that may read any state, so no two game systems are updated concurrently
+        assertEquals(List.of(
+                List.of("HealthSystem"),
+                List.of("UpdatableSystem"),
+                List.of("ControllerSystem"),
+                List.of("WorldSystem"),
+                List.of("BehaviorSystem"),
+                List.of("TrajectorySystem"),
+                List.of("AnimationSystem"),
+                List.of("SpriteSystem"),
+                List.of("DebugSystem")), levelNames(systemScheduler, system -> system.getClass().getSimpleName()));
+    }
+
+    @Test
+    public void systemsShareALevelOnlyIfTheirDeclaredAccessDoesNotConflict() {
+        SystemScheduler systemScheduler = new SystemScheduler(ForkJoinPool.commonPool());
+        TestSystem writesFirst = new TestSystem("writesFirst", Set.of(), Set.of(FirstComponent.class));
+        TestSystem writesSecond = new TestSystem("writesSecond", Set.of(), Set.of(SecondComponent.class));
+        TestSystem readsFirst = new TestSystem("readsFirst", Set.of(FirstComponent.class), Set.of());
+        TestSystem readsSecond = new TestSystem("readsSecond", Set.of(SecondComponent.class), Set.of());
+        TestSystem undeclared = new TestSystem("undeclared", null, null);
+        systemScheduler.build(List.of(writesFirst, writesSecond, readsFirst, readsSecond, undeclared));
+        assertEquals(List.of(
+                List.of("writesFirst", "writesSecond"),
+                List.of("readsFirst", "readsSecond"),
+                List.of("undeclared")), levelNames(systemScheduler, System::toString));
+    }
+
+    private static List<List<String>> levelNames(SystemScheduler systemScheduler, Function<System, String> name) {
+        List<List<String>> levelNames = new ArrayList<>();
+        for (List<System> level : systemScheduler.getLevels()) {
+            List<String> names = new ArrayList<>();
+            level.forEach(system -> names.add(name.apply(system)));
+            levelNames.add(names);
+        }
+        return levelNames;
+    }
+
+    private static class FirstComponent implements Component {
+    }
+
+    private static class SecondComponent implements Component {
+    }
+
+    private static class TestSystem extends System {
+
+        private final String name;
+
+        private TestSystem(String name, Set<Class<? extends Component>> reads,
+                           Set<Class<? extends Component>> writes) {
+            super(Set.of(FirstComponent.class));
+            this.name = name;
+            if (reads != null) {
+                declareAccess(reads, writes);
+            }
+        }
+
+        @Override
+        protected void processEntity(IEntity entity, float delta) {
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.game;
+
+import com.game.core.IEntity;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class SystemTest {
+
+    @Test
+    public void removingAMemberMovesTheLastMemberIntoItsPlace() {
+        RecordingSystem system = new RecordingSystem();
+        Entity first = entity();
+        Entity second = entity();
+        Entity third = entity();
+        system.addEntity(first);
+        system.addEntity(second);
+        system.addEntity(third);
+        system.removeEntity(first);
+        // removing an entity that is not a member does nothing
+        system.removeEntity(first);
+        assertFalse(system.entityIsMember(first));
+        assertTrue(system.entityIsMember(third));
+        assertEquals(2, system.getMemberCount());
+
+        system.update(0f);
+        assertEquals(List.of(third, second), system.processed);
+        system.removeEntity(third);
+        system.processed.clear();
+        system.update(0f);
+        assertEquals(List.of(second), system.processed);
+    }
+
+    private static Entity entity() {
+        Entity entity = new Entity();
+        entity.addComponent(new TestComponent());
+        return entity;
+    }
+
+    private static class TestComponent implements Component {
+    }
+
+    private static class RecordingSystem extends System {
+
+        private final List<IEntity> processed = new ArrayList<>();
+
+        private RecordingSystem() {
+            super(Set.of(TestComponent.class));
+        }
+
+        @Override
+        protected void processEntity(IEntity entity, float delta) {
+            processed.add(entity);
+        }
+
+    }
+
+}
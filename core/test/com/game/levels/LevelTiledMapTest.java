@@ -0,0 +1,92 @@
+package com.game.levels;
+
+import com.badlogic.gdx.maps.objects.RectangleMapObject;
+import com.badlogic.gdx.math.Rectangle;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class LevelTiledMapTest {
+
+    @Test
+    public void rowOfTilesMergesIntoOneStrip() {
+        List<RectangleMapObject> objects = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            objects.add(tile(null, i, 0));
+        }
+        List<RectangleMapObject> merged = LevelTiledMap.mergeObjects(objects, object -> true);
+        assertEquals(1, merged.size());
+        assertEquals(new Rectangle(0f, 0f, 4f, 1f), merged.get(0).getRectangle());
+        assertEquals(4f, merged.get(0).getProperties().get("width"));
+    }
+
+    @Test
+    public void gridOfTilesMergesIntoOneRectangle() {
+        List<RectangleMapObject> objects = new ArrayList<>();
+        for (int y = 0; y < 3; y++) {
+            for (int x = 0; x < 2; x++) {
+                objects.add(tile(null, x, y));
+            }
+        }
+        List<RectangleMapObject> merged = LevelTiledMap.mergeObjects(objects, object -> true);
+        assertEquals(1, merged.size());
+        assertEquals(new Rectangle(0f, 0f, 2f, 3f), merged.get(0).getRectangle());
+    }
+
+    @Test
+    public void lShapeMergesIntoTwoRectanglesCoveringTheSameArea() {
+        List<RectangleMapObject> objects = List.of(tile(null, 0, 0), tile(null, 1, 0), tile(null, 0, 1));
+        List<RectangleMapObject> merged = LevelTiledMap.mergeObjects(objects, object -> true);
+        assertEquals(2, merged.size());
+        float area = 0f;
+        for (RectangleMapObject object : merged) {
+            area += object.getRectangle().area();
+        }
+        assertEquals(3f, area, 0f);
+    }
+
+    @Test
+    public void differentNamesAreNotMerged() {
+        List<RectangleMapObject> objects = List.of(tile("left", 0, 0), tile("right", 1, 0));
+        List<RectangleMapObject> merged = LevelTiledMap.mergeObjects(objects, object -> true);
+        assertEquals(2, merged.size());
+        assertEquals("left", merged.get(0).getName());
+        assertEquals("right", merged.get(1).getName());
+    }
+
+    @Test
+    public void differentPropertiesAreNotMerged() {
+        RectangleMapObject ice = tile(null, 0, 0);
+        ice.getProperties().put("friction", .2f);
+        List<RectangleMapObject> objects = List.of(ice, tile(null, 1, 0), tile(null, 2, 0));
+        List<RectangleMapObject> merged = LevelTiledMap.mergeObjects(objects, object -> true);
+        assertEquals(2, merged.size());
+        assertEquals(new Rectangle(0f, 0f, 1f, 1f), merged.get(0).getRectangle());
+        assertEquals(.2f, merged.get(0).getProperties().get("friction"));
+        assertEquals(new Rectangle(1f, 0f, 2f, 1f), merged.get(1).getRectangle());
+    }
+
+    @Test
+    public void objectsThatAreNotMergeableAreReturnedUnchanged() {
+        RectangleMapObject moving = tile(null, 1, 0);
+        List<RectangleMapObject> objects = List.of(tile(null, 0, 0), moving, tile(null, 2, 0));
+        List<RectangleMapObject> merged = LevelTiledMap.mergeObjects(objects, object -> object != moving);
+        assertEquals(3, merged.size());
+        assertTrue(merged.contains(moving));
+        assertEquals(new Rectangle(1f, 0f, 1f, 1f), moving.getRectangle());
+    }
+
+    private static RectangleMapObject tile(String name, int x, int y) {
+        RectangleMapObject object = new RectangleMapObject(x, y, 1f, 1f);
+        object.setName(name);
+        object.getProperties().put("x", (float) x);
+        object.getProperties().put("y", (float) y);
+        object.getProperties().put("width", 1f);
+        object.getProperties().put("height", 1f);
+        return object;
+    }
+
+}
@@ -0,0 +1,136 @@
+package com.game.world;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.game.utils.UtilMethods;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks every {@link Broadphase} implementation against the nested loop over every pair of bodies that it replaces.
+ */
+@RunWith(Parameterized.class)
+public class BroadphaseTest {
+
+    @Parameter
+    public String name;
+    @Parameter(1)
+    public Supplier<Broadphase> broadphaseSupplier;
+
+    @Parameters(name = "{0}")
+    public static List<Object[]> broadphases() {
+        return List.of(
+                new Object[]{"spatial hash, cell size 1", (Supplier<Broadphase>) () -> new SpatialHashBroadphase(1f)},
+                new Object[]{"spatial hash, cell size 3", (Supplier<Broadphase>) () -> new SpatialHashBroadphase(3f)},
+                new Object[]{"spatial hash, cell size 16", (Supplier<Broadphase>) () -> new SpatialHashBroadphase(16f)},
+                new Object[]{"sweep and prune", (Supplier<Broadphase>) SweepAndPruneBroadphase::new});
+    }
+
+    @Test
+    public void findsTheSamePairsAsTheNestedLoop() {
+        Random random = new Random(11L);
+        Broadphase broadphase = broadphaseSupplier.get();
+        for (int round = 0; round < 20; round++) {
+            Rectangle[] bounds = randomBounds(random, 200, 60f);
+            assertSamePairsAsNestedLoop(broadphase, bounds, ids(bounds.length), bounds.length);
+        }
+    }
+
+    @Test
+    public void reportsPairsSpanningSeveralCellsOnce() {
+        Rectangle[] bounds = {
+                new Rectangle(0f, 0f, 10f, 10f),
+                new Rectangle(2f, 2f, 10f, 10f),
+                new Rectangle(-5f, -5f, 5f, 5f)
+        };
+        assertSamePairsAsNestedLoop(broadphaseSupplier.get(), bounds, ids(bounds.length), bounds.length);
+    }
+
+    @Test
+    public void onlyUsesTheFirstCountBounds() {
+        Rectangle[] bounds = randomBounds(new Random(3L), 50, 10f);
+        assertSamePairsAsNestedLoop(broadphaseSupplier.get(), bounds, ids(bounds.length), 20);
+    }
+
+    @Test
+    public void keepsFindingTheSamePairsAsBodiesMoveAndAreAddedAndRemoved() {
+        Random random = new Random(17L);
+        Broadphase broadphase = broadphaseSupplier.get();
+        List<Rectangle> bodies = new ArrayList<>(List.of(randomBounds(random, 150, 40f)));
+        List<Integer> bodyIds = new ArrayList<>();
+        int nextId = 0;
+        while (bodyIds.size() < bodies.size()) {
+            bodyIds.add(nextId++);
+        }
+        for (int step = 0; step < 50; step++) {
+            for (Rectangle rect : bodies) {
+                rect.x += random.nextInt(5) - 2;
+                rect.y += random.nextInt(5) - 2;
+            }
+            // removing bodies from the middle shifts the indices of every body after them, while their ids stay
+            for (int removed = random.nextInt(10); removed > 0 && bodies.size() > 50; removed--) {
+                int index = random.nextInt(bodies.size());
+                bodies.remove(index);
+                bodyIds.remove(index);
+            }
+            for (Rectangle rect : randomBounds(random, random.nextInt(10), 40f)) {
+                int index = random.nextInt(bodies.size() + 1);
+                bodies.add(index, rect);
+                bodyIds.add(index, nextId++);
+            }
+            Rectangle[] bounds = bodies.toArray(new Rectangle[0]);
+            int[] ids = bodyIds.stream().mapToInt(Integer::intValue).toArray();
+            assertSamePairsAsNestedLoop(broadphase, bounds, ids, bounds.length);
+        }
+    }
+
+    /**
+     * Returns random bounds on a coarse grid, so that many bounds touch or share edges, plus a few large bounds that
+     * span many cells.
+     */
+    private static Rectangle[] randomBounds(Random random, int count, float extent) {
+        Rectangle[] bounds = new Rectangle[count];
+        for (int i = 0; i < count; i++) {
+            float size = i % 25 == 0 ? extent / 3f : 1f + random.nextInt(6);
+            bounds[i] = new Rectangle(random.nextInt((int) extent) - extent / 2f,
+                    random.nextInt((int) extent) - extent / 2f, size, random.nextBoolean() ? size : size / 2f);
+        }
+        return bounds;
+    }
+
+    private static int[] ids(int count) {
+        int[] ids = new int[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = i;
+        }
+        return ids;
+    }
+
+    private static void assertSamePairsAsNestedLoop(Broadphase broadphase, Rectangle[] bounds, int[] ids, int count) {
+        BodyPairBuffer pairs = new BodyPairBuffer();
+        broadphase.findPairs(bounds, ids, count, pairs);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            for (int j = i + 1; j < count; j++) {
+                if (UtilMethods.overlaps(bounds[i], bounds[j])) {
+                    expected.add(i + "-" + j);
+                }
+            }
+        }
+        List<String> actual = new ArrayList<>();
+        for (int k = 0; k < pairs.size(); k++) {
+            actual.add(pairs.first(k) + "-" + pairs.second(k));
+        }
+        assertEquals(expected, actual);
+    }
+
+}
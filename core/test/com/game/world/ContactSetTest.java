@@ -0,0 +1,137 @@
+package com.game.world;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class ContactSetTest {
+
+    @Test
+    public void addIgnoresPairsAlreadyInTheSetInEitherOrder() {
+        ContactSet contactSet = new ContactSet(new ArrayDeque<>());
+        Fixture f1 = fixture();
+        Fixture f2 = fixture();
+        contactSet.add(f1, f2);
+        contactSet.add(f2, f1);
+        contactSet.add(f1, f2);
+        assertEquals(1, contactSet.size());
+        assertSame(f1, contactSet.get(0).getFixture1());
+        assertSame(f2, contactSet.get(0).getFixture2());
+        assertEquals(Contact.key(f1, f2), contactSet.key(0));
+    }
+
+    @Test
+    public void sortOrdersByKeyAndKeepsLookupsConsistent() {
+        ContactSet contactSet = new ContactSet(new ArrayDeque<>());
+        Fixture[] fixtures = new Fixture[40];
+        for (int i = 0; i < fixtures.length; i++) {
+            fixtures[i] = fixture();
+        }
+        // more pairs than the initial capacity, added in descending key order
+        for (int i = fixtures.length - 1; i > 0; i--) {
+            for (int j = i - 1; j >= Math.max(0, i - 4); j--) {
+                contactSet.add(fixtures[i], fixtures[j]);
+            }
+        }
+        int size = contactSet.size();
+        contactSet.sort();
+        assertEquals(size, contactSet.size());
+        for (int i = 0; i < size; i++) {
+            Contact contact = contactSet.get(i);
+            assertEquals(contact.getKey(), contactSet.key(i));
+            if (i > 0) {
+                assertTrue(contactSet.key(i - 1) < contactSet.key(i));
+            }
+        }
+        // the table still points at the sorted positions
+        contactSet.add(fixtures[1], fixtures[0]);
+        assertEquals(size, contactSet.size());
+    }
+
+    @Test
+    public void clearedContactsAreReusedByTheNextFrame() {
+        ArrayDeque<Contact> pool = new ArrayDeque<>();
+        ContactSet prior = new ContactSet(pool);
+        ContactSet current = new ContactSet(pool);
+        Fixture f1 = fixture();
+        Fixture f2 = fixture();
+        Fixture f3 = fixture();
+        prior.add(f1, f2);
+        prior.add(f2, f3);
+        Set<Contact> priorContacts = identitySet(prior);
+        prior.clear();
+        assertEquals(0, prior.size());
+        assertEquals(2, pool.size());
+        assertNull(pool.peek().getFixture1());
+
+        current.add(f1, f3);
+        current.add(f1, f2);
+        assertEquals(0, pool.size());
+        for (int i = 0; i < current.size(); i++) {
+            assertTrue(priorContacts.contains(current.get(i)));
+        }
+        assertEquals(Contact.key(f1, f3), current.get(0).getKey());
+
+        // a cleared set accepts the same pairs again
+        prior.add(f1, f2);
+        prior.add(f1, f2);
+        assertEquals(1, prior.size());
+        assertSame(f1, prior.get(0).getFixture1());
+    }
+
+    @Test
+    public void removeIfKeepsTheOrderAndLookupsOfTheRemainingContacts() {
+        ArrayDeque<Contact> pool = new ArrayDeque<>();
+        ContactSet contactSet = new ContactSet(pool);
+        Fixture f1 = fixture();
+        Fixture f2 = fixture();
+        Fixture f3 = fixture();
+        Fixture f4 = fixture();
+        contactSet.add(f1, f2);
+        contactSet.add(f2, f3);
+        contactSet.add(f3, f4);
+        contactSet.sort();
+        List<Contact> removed = new ArrayList<>();
+        contactSet.removeIf(contact -> contact.getFixture1() == f2 || contact.getFixture2() == f2,
+                removed::add);
+        assertEquals(2, removed.size());
+        assertEquals(2, pool.size());
+        assertEquals(1, contactSet.size());
+        assertEquals(Contact.key(f3, f4), contactSet.key(0));
+        // the removed pairs can be added again and the remaining pair is still found
+        contactSet.add(f4, f3);
+        contactSet.add(f1, f2);
+        assertEquals(2, contactSet.size());
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    public void keysOfDifferentPairsDiffer() {
+        assertEquals(Contact.key(3, 7), Contact.key(7, 3));
+        assertNotEquals(Contact.key(-1, 5), Contact.key(-2, 5));
+        assertNotEquals(Contact.key(-1, 5), Contact.key(0, 5));
+        assertNotEquals(Contact.key(1, -5), Contact.key(2, -5));
+        assertEquals(5L, Contact.key(0, 5));
+        assertEquals((-1L << 32) | 5L, Contact.key(5, -1));
+    }
+
+    private static Set<Contact> identitySet(ContactSet contactSet) {
+        Set<Contact> contacts = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0; i < contactSet.size(); i++) {
+            contacts.add(contactSet.get(i));
+        }
+        return contacts;
+    }
+
+    private static Fixture fixture() {
+        return new Fixture(null, FixtureType.BLOCK);
+    }
+
+}
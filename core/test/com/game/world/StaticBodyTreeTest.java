@@ -0,0 +1,115 @@
+package com.game.world;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.IntArray;
+import com.game.utils.UtilMethods;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class StaticBodyTreeTest {
+
+    @Test
+    public void queryMatchesBruteForce() {
+        Random random = new Random(7L);
+        List<BodyComponent> bodies = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            // blocks on a coarse grid so that many share edges and centers
+            bodies.add(block(random.nextInt(40) * 4f, random.nextInt(40) * 4f, 1f + random.nextInt(8),
+                    1f + random.nextInt(8), random.nextBoolean()));
+        }
+        StaticBodyTree tree = new StaticBodyTree();
+        tree.build(bodies);
+        assertEquals(bodies.size(), tree.size());
+        IntArray hits = new IntArray();
+        for (int q = 0; q < 500; q++) {
+            Rectangle area = new Rectangle(random.nextFloat() * 170f - 5f, random.nextFloat() * 170f - 5f,
+                    random.nextFloat() * 30f, random.nextFloat() * 30f);
+            hits.clear();
+            tree.query(area, hits);
+            IntArray expected = new IntArray();
+            for (int i = 0; i < bodies.size(); i++) {
+                if (UtilMethods.overlaps(boundsOf(bodies.get(i)), area)) {
+                    expected.add(i);
+                }
+            }
+            assertEquals(expected, hits);
+            for (int k = 0; k < hits.size; k++) {
+                assertSame(bodies.get(hits.get(k)), tree.get(hits.get(k)));
+            }
+        }
+    }
+
+    @Test
+    public void emptyTreeHasNoHits() {
+        StaticBodyTree tree = new StaticBodyTree();
+        tree.build(new ArrayList<>());
+        IntArray hits = new IntArray();
+        tree.query(new Rectangle(0f, 0f, 10f, 10f), hits);
+        assertEquals(0, hits.size);
+    }
+
+    @Test
+    public void staleWhenBodiesOrFixturesChange() {
+        BodyComponent first = block(0f, 0f, 2f, 2f, true);
+        BodyComponent second = block(4f, 0f, 2f, 2f, false);
+        List<BodyComponent> bodies = new ArrayList<>(List.of(first, second));
+        StaticBodyTree tree = new StaticBodyTree();
+        assertFalse(tree.isUpToDate(first));
+        tree.build(bodies);
+        assertTrue(tree.isUpToDate(first));
+        assertTrue(tree.isUpToDate(second));
+
+        first.setPosition(1f, 0f);
+        assertFalse(tree.isUpToDate(first));
+        assertTrue(tree.isUpToDate(second));
+        tree.build(bodies);
+        assertTrue(tree.isUpToDate(first));
+
+        // inactive fixtures are skipped when pairs are tested, so toggling one keeps the tree
+        Fixture fixture = first.getFixtures().get(0);
+        fixture.setActive(false);
+        assertTrue(tree.isUpToDate(first));
+
+        fixture.setSize(5f, 5f);
+        assertFalse(tree.isUpToDate(first));
+        tree.build(bodies);
+        assertTrue(tree.isUpToDate(first));
+
+        second.addFixture(new Fixture(null, FixtureType.BLOCK));
+        assertFalse(tree.isUpToDate(second));
+        tree.build(bodies);
+        assertTrue(tree.isUpToDate(second));
+
+        bodies.remove(second);
+        tree.build(bodies);
+        assertFalse(tree.isUpToDate(second));
+        assertTrue(tree.isUpToDate(first));
+    }
+
+    private static BodyComponent block(float x, float y, float width, float height, boolean withFixture) {
+        BodyComponent bodyComponent = new BodyComponent(BodyType.STATIC);
+        bodyComponent.set(x, y, width, height);
+        if (withFixture) {
+            // a fixture that sticks out of the body so that the bounds differ from the collision box
+            Fixture fixture = new Fixture(null, FixtureType.BLOCK);
+            fixture.setSize(width + 2f, height / 2f);
+            fixture.setOffset(1f, 0f);
+            bodyComponent.addFixture(fixture);
+        }
+        return bodyComponent;
+    }
+
+    private static Rectangle boundsOf(BodyComponent bodyComponent) {
+        Rectangle bounds = new Rectangle(bodyComponent.getCollisionBox());
+        for (Fixture fixture : bodyComponent.getFixtures()) {
+            bounds.merge(fixture.getFixtureBox());
+        }
+        return bounds;
+    }
+
+}
@@ -0,0 +1,386 @@
+package com.game.world;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.game.Entity;
+import com.game.core.IEntity;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class WorldSystemTest {
+
+    private static final float STEP = .1f;
+
+    @Test
+    public void contactsBeginContinueAndEnd() {
+        RecordingListener listener = new RecordingListener();
+        WorldSystem worldSystem = new WorldSystem(listener, new Vector2(), STEP);
+        BodyComponent first = addBody(worldSystem, BodyType.ABSTRACT, 0f, 0f, 2f, 2f);
+        BodyComponent second = addBody(worldSystem, BodyType.ABSTRACT, 1f, 1f, 2f, 2f);
+
+        worldSystem.update(STEP);
+        assertEquals(List.of("begin"), listener.events);
+        assertSame(first.getFixtures().get(0), listener.fixtures.get(0));
+        assertSame(second.getFixtures().get(0), listener.fixtures.get(1));
+
+        listener.clear();
+        worldSystem.update(STEP);
+        assertEquals(List.of("continue"), listener.events);
+
+        listener.clear();
+        second.setPosition(10f, 10f);
+        worldSystem.update(STEP);
+        assertEquals(List.of("end"), listener.events);
+
+        listener.clear();
+        worldSystem.update(STEP);
+        assertEquals(List.of(), listener.events);
+
+        // the pooled contact of the ended pair is reused when the pair begins again
+        listener.clear();
+        second.setPosition(1f, 1f);
+        worldSystem.update(STEP);
+        assertEquals(List.of("begin"), listener.events);
+    }
+
+    @Test
+    public void removedEntityEndsItsContactsBeforeItCanBeRevived() {
+        RecordingListener listener = new RecordingListener();
+        WorldSystem worldSystem = new WorldSystem(listener, new Vector2(), STEP);
+        addBody(worldSystem, BodyType.ABSTRACT, 0f, 0f, 2f, 2f);
+        BodyComponent bullet = addBody(worldSystem, BodyType.ABSTRACT, 1f, 1f, 2f, 2f);
+        IEntity bulletEntity = bullet.getFixtures().get(0).getEntity();
+        worldSystem.update(STEP);
+        assertEquals(List.of("begin"), listener.events);
+
+        // the entity pool revives the entity right after it is removed, and it is added again at the same spot
+        listener.clear();
+        worldSystem.removeEntity(bulletEntity);
+        assertEquals(List.of("end"), listener.events);
+        worldSystem.addEntity(bulletEntity);
+        listener.clear();
+        worldSystem.update(STEP);
+        assertEquals(List.of("begin"), listener.events);
+    }
+
+    @Test
+    public void fastBodyStopsAtThinWallInsteadOfTunneling() {
+        WorldSystem worldSystem = new WorldSystem(null, new Vector2(), STEP);
+        BodyComponent wall = addBody(worldSystem, BodyType.STATIC, 10f, 0f, .2f, 4f);
+        BodyComponent bullet = addBody(worldSystem, BodyType.DYNAMIC, 0f, 1f, 1f, 1f);
+        // 15 units per step, so the end position of the step is far past the wall
+        bullet.setVelocity(150f, 0f);
+        worldSystem.update(STEP);
+        // the time of impact is (10 - 1) / 15, after which the collision pushes the body back out of the wall
+        assertEquals(9f, bullet.getCollisionBox().x, 1e-4f);
+        assertEquals(1f, bullet.getCollisionBox().y, 0f);
+        assertEquals(10f, wall.getCollisionBox().x, 0f);
+    }
+
+    @Test
+    public void fastBodyLandsOnRisingPlatformInsteadOfTunneling() {
+        WorldSystem worldSystem = new WorldSystem(null, new Vector2(), STEP);
+        BodyComponent platform = addBody(worldSystem, BodyType.KINEMATIC, 0f, 5f, 4f, .2f);
+        platform.setVelocity(0f, 10f);
+        BodyComponent faller = addBody(worldSystem, BodyType.DYNAMIC, 1f, 10f, 1f, 1f);
+        faller.setVelocity(0f, -150f);
+        worldSystem.update(STEP);
+        // relative to the platform the body falls 16 units, so it hits the top of the platform at (10 - 5.2) / 16,
+        // is carried up with the platform for the rest of the step, and is pushed back on top of it
+        assertEquals(6f, platform.getCollisionBox().y, 1e-4f);
+        assertEquals(6.2f, faller.getCollisionBox().y, 1e-4f);
+    }
+
+    @Test
+    public void fastBodyWithoutWallMovesTheFullStep() {
+        WorldSystem worldSystem = new WorldSystem(null, new Vector2(), STEP);
+        addBody(worldSystem, BodyType.STATIC, 10f, 5f, .2f, 4f);
+        BodyComponent bullet = addBody(worldSystem, BodyType.DYNAMIC, 0f, 1f, 1f, 1f);
+        bullet.setVelocity(150f, 0f);
+        worldSystem.update(STEP);
+        assertEquals(15f, bullet.getCollisionBox().x, 1e-4f);
+    }
+
+    @Test
+    public void raycastFindsTheFirstFixtureAlongTheSegment() {
+        WorldSystem worldSystem = new WorldSystem(null, new Vector2(), STEP);
+        BodyComponent near = addBody(worldSystem, BodyType.STATIC, 10f, 0f, 1f, 4f);
+        addBody(worldSystem, BodyType.STATIC, 20f, 0f, 1f, 4f);
+        addBody(worldSystem, BodyType.ABSTRACT, FixtureType.DAMAGEABLE_BOX, 5f, 1f, 1f, 2f);
+        worldSystem.update(STEP);
+
+        RaycastHit hit = new RaycastHit();
+        assertTrue(worldSystem.raycast(new Vector2(0f, 2f), new Vector2(30f, 2f), FixtureType.BLOCK, hit));
+        assertSame(near.getFixtures().get(0), hit.getFixture());
+        assertEquals(1f / 3f, hit.getFraction(), 1e-5f);
+        assertEquals(10f, hit.getPoint().x, 1e-4f);
+        assertEquals(2f, hit.getPoint().y, 1e-4f);
+
+        assertFalse(worldSystem.raycast(new Vector2(0f, 5f), new Vector2(30f, 5f), FixtureType.BLOCK, hit));
+        assertNull(hit.getFixture());
+        assertTrue(worldSystem.hasLineOfSight(new Vector2(0f, 2f), new Vector2(9f, 2f)));
+        assertFalse(worldSystem.hasLineOfSight(new Vector2(0f, 2f), new Vector2(15f, 2f)));
+        // the fixture of the moving body is only found for its own fixture type
+        assertTrue(worldSystem.raycast(new Vector2(0f, 2f), new Vector2(30f, 2f), FixtureType.DAMAGEABLE_BOX, hit));
+        assertEquals(5f, hit.getPoint().x, 1e-4f);
+    }
+
+    @Test
+    public void areaQueriesReturnOverlappingBodiesAndFixtures() {
+        WorldSystem worldSystem = new WorldSystem(null, new Vector2(), STEP);
+        BodyComponent wall = addBody(worldSystem, BodyType.STATIC, 10f, 0f, 1f, 4f);
+        BodyComponent otherWall = addBody(worldSystem, BodyType.STATIC, 20f, 0f, 1f, 4f);
+        BodyComponent mover = addBody(worldSystem, BodyType.ABSTRACT, FixtureType.DAMAGEABLE_BOX, 5f, 1f, 1f, 2f);
+        worldSystem.update(STEP);
+
+        List<BodyComponent> bodies = new ArrayList<>();
+        worldSystem.queryBodies(new Rectangle(9f, 0f, 3f, 1f), bodies);
+        assertEquals(List.of(wall), bodies);
+        bodies.clear();
+        worldSystem.queryBodies(new Rectangle(0f, 0f, 30f, 4f), bodies);
+        assertEquals(3, bodies.size());
+        assertTrue(bodies.containsAll(List.of(wall, otherWall, mover)));
+
+        List<Fixture> fixtures = new ArrayList<>();
+        worldSystem.queryFixtures(new Rectangle(0f, 0f, 30f, 4f), FixtureType.DAMAGEABLE_BOX, fixtures);
+        assertEquals(List.of(mover.getFixtures().get(0)), fixtures);
+        fixtures.clear();
+        mover.getFixtures().get(0).setActive(false);
+        worldSystem.queryFixtures(new Rectangle(0f, 0f, 30f, 4f), FixtureType.DAMAGEABLE_BOX, fixtures);
+        assertTrue(fixtures.isEmpty());
+    }
+
+    @Test
+    public void nearestFixtureIsWithinTheMaxDistance() {
+        WorldSystem worldSystem = new WorldSystem(null, new Vector2(), STEP);
+        BodyComponent wall = addBody(worldSystem, BodyType.STATIC, 10f, 0f, 1f, 4f);
+        addBody(worldSystem, BodyType.STATIC, 20f, 0f, 1f, 4f);
+        worldSystem.update(STEP);
+
+        // the centers are at (10.5, 2) and (20.5, 2)
+        assertSame(wall.getFixtures().get(0), worldSystem.nearestFixture(new Vector2(14f, 2f), FixtureType.BLOCK, 10f));
+        assertNull(worldSystem.nearestFixture(new Vector2(14f, 2f), FixtureType.BLOCK, 3f));
+        assertNull(worldSystem.nearestFixture(new Vector2(14f, 2f), FixtureType.LADDER, 10f));
+    }
+
+    @Test
+    public void riderIsCarriedUntilItsParentDies() {
+        WorldSystem worldSystem = new WorldSystem(null, new Vector2(), STEP);
+        BodyComponent platform = addBody(worldSystem, BodyType.KINEMATIC, 0f, 0f, 4f, 1f);
+        platform.setVelocity(10f, 0f);
+        BodyComponent rider = addBody(worldSystem, BodyType.DYNAMIC, 1f, .9f, 1f, 1f);
+        rider.setGravityOn(true);
+        rider.setGravity(-10f);
+
+        worldSystem.update(STEP);
+        assertSame(platform, rider.getParent());
+        assertEquals(1f, rider.getCollisionBox().x, 0f);
+        assertEquals(1f, rider.getCollisionBox().y, 1e-5f);
+
+        worldSystem.update(STEP);
+        assertSame(platform, rider.getParent());
+        assertEquals(2f, rider.getCollisionBox().x, 1e-5f);
+
+        platform.getFixtures().get(0).getEntity().setDead(true);
+        worldSystem.update(STEP);
+        assertNull(rider.getParent());
+        assertEquals(2f, rider.getCollisionBox().x, 1e-5f);
+    }
+
+    @Test
+    public void staticTreeIsKeptAcrossRoomChangesAndPausedPlatforms() {
+        WorldSystem worldSystem = new WorldSystem(null, new Vector2(), STEP);
+        Rectangle firstRoom = new Rectangle(0f, 0f, 10f, 10f);
+        Rectangle secondRoom = new Rectangle(20f, 0f, 10f, 10f);
+        worldSystem.getRoomPartition().setRooms(List.of(firstRoom, secondRoom));
+        worldSystem.getRoomPartition().setActiveRoom(firstRoom);
+        BodyComponent firstBlock = addBody(worldSystem, BodyType.STATIC, 1f, 1f, 2f, 2f);
+        BodyComponent secondBlock = addBody(worldSystem, BodyType.STATIC, 21f, 1f, 2f, 2f);
+        BodyComponent platform = addBody(worldSystem, BodyType.STATIC, 5f, 1f, 2f, 2f);
+        platform.setVelocity(1f, 0f);
+        worldSystem.update(STEP);
+        StaticBodyTree staticBodyTree = worldSystem.getStaticBodyTree();
+        // the block of the inactive room is in the tree as well, and the moving platform is not
+        assertEquals(2, staticBodyTree.size());
+        assertTrue(staticBodyTree.isUpToDate(firstBlock));
+        assertTrue(staticBodyTree.isUpToDate(secondBlock));
+
+        worldSystem.getRoomPartition().setActiveRoom(secondRoom);
+        platform.setVelocity(0f, 0f);
+        worldSystem.update(STEP);
+        assertEquals(2, staticBodyTree.size());
+        assertSame(firstBlock, staticBodyTree.get(firstBlock.getTreeIndex()));
+        assertFalse(staticBodyTree.isUpToDate(platform));
+
+        secondBlock.setPosition(22f, 1f);
+        assertFalse(staticBodyTree.isUpToDate(secondBlock));
+        worldSystem.update(STEP);
+        assertTrue(staticBodyTree.isUpToDate(secondBlock));
+    }
+
+    @Test
+    public void stepsOverTheSubstepCapAreDropped() {
+        WorldSystem worldSystem = new WorldSystem(null, new Vector2(), .125f);
+        worldSystem.setMaxSubsteps(4);
+        BodyComponent mover = addBody(worldSystem, BodyType.ABSTRACT, 0f, 0f, 1f, 1f);
+        mover.setVelocity(8f, 0f);
+
+        // a long frame worth 8 steps only runs 4 of them
+        worldSystem.update(1f);
+        assertEquals(4, worldSystem.getTelemetry().getSubsteps());
+        assertEquals(0, worldSystem.getTelemetry().getCarriedSubsteps());
+        assertEquals(4, worldSystem.getTelemetry().getDroppedSubsteps());
+        assertEquals(1L, worldSystem.getTelemetry().getBudgetExceededCount());
+        assertEquals(4f, mover.getCollisionBox().x, 1e-5f);
+
+        worldSystem.update(0f);
+        assertEquals(0, worldSystem.getTelemetry().getSubsteps());
+        assertEquals(4f, mover.getCollisionBox().x, 1e-5f);
+    }
+
+    @Test
+    public void stepsOverTheSubstepCapAreCarriedOver() {
+        WorldSystem worldSystem = new WorldSystem(null, new Vector2(), .125f);
+        worldSystem.setMaxSubsteps(4);
+        worldSystem.setCarryOverSteps(true);
+        BodyComponent mover = addBody(worldSystem, BodyType.ABSTRACT, 0f, 0f, 1f, 1f);
+        mover.setVelocity(8f, 0f);
+
+        worldSystem.update(1f);
+        assertEquals(4, worldSystem.getTelemetry().getSubsteps());
+        assertEquals(4, worldSystem.getTelemetry().getCarriedSubsteps());
+        assertEquals(0, worldSystem.getTelemetry().getDroppedSubsteps());
+        assertEquals(4f, mover.getCollisionBox().x, 1e-5f);
+
+        worldSystem.update(0f);
+        assertEquals(4, worldSystem.getTelemetry().getSubsteps());
+        assertEquals(0, worldSystem.getTelemetry().getCarriedSubsteps());
+        assertEquals(1L, worldSystem.getTelemetry().getBudgetExceededCount());
+        assertEquals(8f, mover.getCollisionBox().x, 1e-5f);
+
+        worldSystem.update(0f);
+        assertEquals(0, worldSystem.getTelemetry().getSubsteps());
+        assertEquals(8f, mover.getCollisionBox().x, 1e-5f);
+    }
+
+    @Test
+    public void carriedOverStepsAreCappedAtOneUpdateWorth() {
+        WorldSystem worldSystem = new WorldSystem(null, new Vector2(), .125f);
+        worldSystem.setMaxSubsteps(4);
+        worldSystem.setCarryOverSteps(true);
+        BodyComponent mover = addBody(worldSystem, BodyType.ABSTRACT, 0f, 0f, 1f, 1f);
+        mover.setVelocity(8f, 0f);
+
+        // a stall worth 16 steps runs 4, carries 4 over, and drops the other 8
+        worldSystem.update(2f);
+        assertEquals(4, worldSystem.getTelemetry().getSubsteps());
+        assertEquals(4, worldSystem.getTelemetry().getCarriedSubsteps());
+        assertEquals(8, worldSystem.getTelemetry().getDroppedSubsteps());
+
+        worldSystem.update(0f);
+        assertEquals(4, worldSystem.getTelemetry().getSubsteps());
+        assertEquals(8f, mover.getCollisionBox().x, 1e-5f);
+
+        worldSystem.update(0f);
+        assertEquals(0, worldSystem.getTelemetry().getSubsteps());
+        assertEquals(1L, worldSystem.getTelemetry().getBudgetExceededCount());
+    }
+
+    @Test
+    public void chunkedNarrowphaseFindsTheSameContactsInTheSameOrder() {
+        List<String> sequential = narrowphaseEvents(Integer.MAX_VALUE);
+        assertFalse(sequential.isEmpty());
+        assertEquals(sequential, narrowphaseEvents(1));
+        assertEquals(sequential, narrowphaseEvents(7));
+    }
+
+    private static List<String> narrowphaseEvents(int chunkSize) {
+        RecordingListener listener = new RecordingListener();
+        WorldSystem worldSystem = new WorldSystem(listener, new Vector2(), STEP);
+        worldSystem.setNarrowphaseChunkSize(chunkSize);
+        Random random = new Random(5L);
+        List<BodyComponent> bodies = new ArrayList<>();
+        for (int i = 0; i < 70; i++) {
+            BodyType bodyType = i < 60 ? BodyType.ABSTRACT : BodyType.STATIC;
+            bodies.add(addBody(worldSystem, bodyType, random.nextInt(20), random.nextInt(20), 2f, 2f));
+        }
+        List<String> events = new ArrayList<>();
+        for (int update = 0; update < 3; update++) {
+            worldSystem.update(STEP);
+            for (int k = 0; k < listener.events.size(); k++) {
+                events.add(listener.events.get(k) + ":" + indexOf(bodies, listener.fixtures.get(k * 2)) + "-" +
+                        indexOf(bodies, listener.fixtures.get(k * 2 + 1)));
+            }
+            listener.clear();
+            bodies.get(update).setPosition(100f, 100f);
+        }
+        return events;
+    }
+
+    private static int indexOf(List<BodyComponent> bodies, Fixture fixture) {
+        for (int i = 0; i < bodies.size(); i++) {
+            if (bodies.get(i).getFixtures().contains(fixture)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static BodyComponent addBody(WorldSystem worldSystem, BodyType bodyType, float x, float y, float width,
+                                 float height) {
+        return addBody(worldSystem, bodyType, FixtureType.BLOCK, x, y, width, height);
+    }
+
+    static BodyComponent addBody(WorldSystem worldSystem, BodyType bodyType, FixtureType fixtureType, float x,
+                                 float y, float width, float height) {
+        Entity entity = new Entity();
+        BodyComponent bodyComponent = new BodyComponent(bodyType);
+        bodyComponent.set(x, y, width, height);
+        bodyComponent.setGravityOn(false);
+        Fixture fixture = new Fixture(entity, fixtureType);
+        fixture.setSize(width, height);
+        bodyComponent.addFixture(fixture);
+        entity.addComponent(bodyComponent);
+        worldSystem.addEntity(entity);
+        return bodyComponent;
+    }
+
+    private static class RecordingListener implements WorldContactListener {
+
+        private final List<String> events = new ArrayList<>();
+        private final List<Fixture> fixtures = new ArrayList<>();
+
+        @Override
+        public void beginContact(Contact contact, float delta) {
+            record("begin", contact);
+        }
+
+        @Override
+        public void continueContact(Contact contact, float delta) {
+            record("continue", contact);
+        }
+
+        @Override
+        public void endContact(Contact contact, float delta) {
+            record("end", contact);
+        }
+
+        private void record(String event, Contact contact) {
+            events.add(event);
+            fixtures.add(contact.getFixture1());
+            fixtures.add(contact.getFixture2());
+        }
+
+        private void clear() {
+            events.clear();
+            fixtures.clear();
+        }
+
+    }
+
+}